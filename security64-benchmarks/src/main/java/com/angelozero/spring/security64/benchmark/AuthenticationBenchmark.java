@@ -0,0 +1,53 @@
+package com.angelozero.spring.security64.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Username and password login against the {@code InMemoryUserDetailsManager} users: {@code inMemory} is the plain
+ * {@link DaoAuthenticationProvider} lookup and password check, {@code cached} the provider the application registers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class AuthenticationBenchmark {
+
+    private AuthenticationProvider inMemory;
+    private AuthenticationProvider cached;
+
+    @Setup
+    public void setUp(Security64Context context) {
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setUserDetailsService(context.getBean(UserDetailsService.class));
+        inMemory = authenticationProvider;
+        cached = context.getBean(AuthenticationProvider.class);
+    }
+
+    @Benchmark
+    public Authentication inMemory() {
+        return inMemory.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("angelo", "password-123"));
+    }
+
+    @Benchmark
+    public Authentication cached() {
+        return cached.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("angelo", "password-123"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.angelozero.spring.security64.benchmark;
+
+import com.angelozero.spring.security64.gateway.FindBankAccountByIdGateway;
+import com.angelozero.spring.security64.gateway.SaveBankAccountGateway;
+import com.angelozero.spring.security64.usecase.FindBankAccountById;
+import com.angelozero.spring.security64.usecase.GetBankAccountInfo;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.angelozero.spring.security64.zzz.BankAccountData;
+import com.angelozero.spring.security64.zzz.BankAccountInterface;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owner checks on the gateways and on {@code BankAccountService}, as wired in the application, with a direct
+ * call to the use case as the unsecured baseline. Every call is made by the owner, so nothing is denied.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class MethodSecurityBenchmark {
+
+    private FindBankAccountById findBankAccountById;
+    private FindBankAccountByIdGateway findBankAccountByIdGateway;
+    private SaveBankAccountGateway saveBankAccountGateway;
+    private BankAccountInterface bankAccountService;
+    private BankAccount bankAccount;
+    private BankAccountData bankAccountData;
+
+    @Setup
+    public void setUp(Security64Context context) {
+        findBankAccountById = new FindBankAccountById(context.getBean(GetBankAccountInfo.class));
+        findBankAccountByIdGateway = context.getBean(FindBankAccountByIdGateway.class);
+        saveBankAccountGateway = context.getBean(SaveBankAccountGateway.class);
+        bankAccountService = context.getBean(BankAccountInterface.class);
+        bankAccount = new BankAccount(1, "angelo", "123", 543);
+        bankAccountData = new BankAccountData(1, "angelo", "1234", 1000D);
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "angelo", null, AuthorityUtils.createAuthorityList("ROLE_MASTER")));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public String findByIdDirect() {
+        return findBankAccountById.execute(1).getAccountNumber();
+    }
+
+    @Benchmark
+    public String findByIdPostCheckBankAccountOwner() {
+        return findBankAccountByIdGateway.execute(1).getAccountNumber();
+    }
+
+    @Benchmark
+    public void savePreCheckBankAccountOwner() {
+        saveBankAccountGateway.execute(bankAccount);
+    }
+
+    @Benchmark
+    public String bankAccountServicePosReadBankAccount() {
+        return bankAccountService.findById(1).getAccountNumber();
+    }
+
+    @Benchmark
+    public void bankAccountServicePreWriteBankAccount() {
+        bankAccountService.updateBankAccount(bankAccountData);
+    }
+}
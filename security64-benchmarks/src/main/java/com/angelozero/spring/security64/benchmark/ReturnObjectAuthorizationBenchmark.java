@@ -0,0 +1,78 @@
+package com.angelozero.spring.security64.benchmark;
+
+import com.angelozero.spring.security64.config.authorization.MaskedViewTargetVisitor;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.method.AuthorizationAdvisorProxyFactory;
+import org.springframework.security.authorization.method.AuthorizationAdvisorProxyFactory.TargetVisitor;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@code @AuthorizeReturnObject} today (one proxy per account, rule evaluated on every getter call) against the
+ * masked view mode ({@code security64.authorization.return-object=view}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ReturnObjectAuthorizationBenchmark {
+
+    @Param({"1", "1000"})
+    private int accounts;
+
+    private AuthorizationAdvisorProxyFactory proxying;
+    private AuthorizationAdvisorProxyFactory viewing;
+    private List<BankAccount> result;
+
+    @Setup
+    public void setUp() {
+        proxying = AuthorizationAdvisorProxyFactory.withDefaults();
+        viewing = AuthorizationAdvisorProxyFactory.withDefaults();
+        viewing.setTargetVisitor(TargetVisitor.of(new MaskedViewTargetVisitor(), TargetVisitor.defaults()));
+        result = IntStream.range(0, accounts)
+                .mapToObj((id) -> new BankAccount(id, id % 2 == 0 ? "angelo" : "jake", String.valueOf(id), id))
+                .toList();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("angelo", "password", "ROLE_MASTER"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void proxy(Blackhole blackhole) {
+        read(proxying, blackhole);
+    }
+
+    @Benchmark
+    public void view(Blackhole blackhole) {
+        read(viewing, blackhole);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void read(AuthorizationAdvisorProxyFactory proxyFactory, Blackhole blackhole) {
+        for (BankAccount account : (List<BankAccount>) proxyFactory.proxy(result)) {
+            blackhole.consume(account.getAccountNumber());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.angelozero.spring.security64.benchmark;
+
+import com.angelozero.spring.security64.Security64Application;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The application started once per fork, so the benchmarks go through the same proxies, interceptors and
+ * authentication provider the web layer uses.
+ */
+@State(Scope.Benchmark)
+public class Security64Context {
+
+    private ConfigurableApplicationContext context;
+
+    @Setup
+    public void start() {
+        context = new SpringApplicationBuilder(Security64Application.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--server.port=0", "--logging.level.root=warn", "--security64.audit.directory=target/audit");
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
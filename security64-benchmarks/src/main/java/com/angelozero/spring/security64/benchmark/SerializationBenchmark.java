@@ -0,0 +1,69 @@
+package com.angelozero.spring.security64.benchmark;
+
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.method.AuthorizationAdvisorProxyFactory;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson writing an {@code @AuthorizeReturnObject} proxy of {@link BankAccount}: {@code unmasked} reads the
+ * caller's own account, {@code masked} someone else's, which goes through {@code MaskAuthorizationDeniedHandler}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BankAccount plain;
+    private BankAccount unmasked;
+    private BankAccount masked;
+
+    @Setup
+    public void setUp() {
+        AuthorizationAdvisorProxyFactory proxyFactory = AuthorizationAdvisorProxyFactory.withDefaults();
+        plain = new BankAccount(1, "angelo", "123", 543);
+        unmasked = (BankAccount) proxyFactory.proxy(plain);
+        masked = (BankAccount) proxyFactory.proxy(new BankAccount(2, "jake", "456", 987));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("angelo", "password", "ROLE_MASTER"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public byte[] plain() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(plain);
+    }
+
+    @Benchmark
+    public byte[] unmasked() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(unmasked);
+    }
+
+    @Benchmark
+    public byte[] masked() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(masked);
+    }
+}
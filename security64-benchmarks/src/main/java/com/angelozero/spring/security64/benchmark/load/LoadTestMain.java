@@ -0,0 +1,108 @@
+package com.angelozero.spring.security64.benchmark.load;
+
+import com.angelozero.spring.security64.Security64Application;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Drives the REST API of an embedded server with the three sample users, each scenario at {@code load.rate}
+ * requests per second for {@code load.warmup} plus {@code load.duration}, then prints the latency percentiles
+ * and throughput of the measured part per scenario. Reads go through Basic authentication; saves use a signed
+ * token, since Basic POSTs would need a CSRF token. Rate limiting is switched off, otherwise the scenarios of one
+ * user above its tier's rate would measure the 429 path instead of method security and serialization.
+ * <pre>
+ * mvn -f ../security64 install -DskipTests
+ * mvn -Pload-test verify -Dload.rate=200 -Dload.duration=60s
+ * </pre>
+ */
+public class LoadTestMain {
+
+    private static final String ACCOUNT = """
+            {"id":1,"owner":"angelo","accountNumber":"123","balance":543}""";
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("load.rate", "50"));
+        Duration warmup = DurationStyle.detectAndParse(System.getProperty("load.warmup", "10s"));
+        Duration duration = DurationStyle.detectAndParse(System.getProperty("load.duration", "30s"));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Security64Application.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--server.port=0", "--logging.level.root=warn", "--security64.audit.directory=target/audit",
+                        "--security64.authentication.token.enabled=true", "--security64.rate-limit.enabled=false");
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build()) {
+            URI api = URI.create(STR."http://localhost:\{((WebServerApplicationContext) context).getWebServer().getPort()}/api/v1/");
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            String angelo = basic("angelo:password-123");
+            String dumb = basic("dumb:password-789");
+            String angeloToken = token(httpClient, objectMapper, api, angelo);
+            String dumbToken = token(httpClient, objectMapper, api, dumb);
+
+            List<Scenario> scenarios = List.of(
+                    new Scenario("get-owner", get(api, angelo)),
+                    new Scenario("get-masked", get(api, dumb)),
+                    new Scenario("get-denied", get(api, basic("jake:password-456"))),
+                    new Scenario("save-owner", save(api, angeloToken)),
+                    new Scenario("save-denied", save(api, dumbToken)));
+
+            long start = System.nanoTime() + Duration.ofMillis(100).toNanos();
+            long measureFrom = start + warmup.toNanos();
+            long end = measureFrom + duration.toNanos();
+            System.out.println(STR."\{scenarios.size()} scenarios at \{rate} req/s each, \{warmup} warmup, \{duration} measured");
+            List<Thread> senders = scenarios.stream()
+                    .map((scenario) -> Thread.ofPlatform().name(STR."load-\{scenario.name()}")
+                            .start(() -> scenario.run(httpClient, rate, start, measureFrom, end)))
+                    .toList();
+            for (Thread sender : senders) {
+                sender.join();
+            }
+
+            System.out.println(Scenario.header());
+            for (Scenario scenario : scenarios) {
+                System.out.println(scenario.report(duration.toNanos() / 1e9));
+            }
+        }
+    }
+
+    private static HttpRequest get(URI api, String authorization) {
+        return HttpRequest.newBuilder(api.resolve("bank-account/1")).header("Authorization", authorization).build();
+    }
+
+    private static HttpRequest save(URI api, String token) {
+        return HttpRequest.newBuilder(api.resolve("bank-account/"))
+                .header("Authorization", STR."Bearer \{token}")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(ACCOUNT))
+                .build();
+    }
+
+    private static String token(HttpClient httpClient, ObjectMapper objectMapper, URI api, String authorization) throws Exception {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(api.resolve("auth/token"))
+                .header("Authorization", authorization)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(STR."Token request failed with \{response.statusCode()}: \{response.body()}");
+        }
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private static String basic(String credentials) {
+        return STR."Basic \{Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8))}";
+    }
+}
@@ -0,0 +1,111 @@
+package com.angelozero.spring.security64.benchmark.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One request sent at a fixed rate, open model: the n-th request is due at {@code start + n / rate} whether or not
+ * the previous ones have completed, and its latency is measured from that due time rather than from when it was
+ * actually sent. A stalled server or a late sender is therefore charged to every request it delayed, instead of
+ * silently lowering the rate (coordinated omission). Requests due during the warmup are sent but not recorded.
+ */
+class Scenario {
+
+    private static final String MASK = "\"accountNumber\":\"****\"";
+
+    private final String name;
+    private final HttpRequest request;
+    private final Recorder latencies = new Recorder(3);
+    private final Recorder sendDelays = new Recorder(3);
+    private final LongAdder granted = new LongAdder();
+    private final LongAdder masked = new LongAdder();
+    private final LongAdder denied = new LongAdder();
+    private final LongAdder limited = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    Scenario(String name, HttpRequest request) {
+        this.name = name;
+        this.request = request;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * Sends {@code rate} requests per second from {@code start} until {@code end} and returns once all of them
+     * completed, recording those due at or after {@code measureFrom}.
+     */
+    void run(HttpClient httpClient, double rate, long start, long measureFrom, long end) {
+        double interval = 1_000_000_000d / rate;
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        for (long n = 0; ; n++) {
+            long due = start + (long) (n * interval);
+            if (due - end >= 0) {
+                break;
+            }
+            long now;
+            while ((now = System.nanoTime()) - due < 0) {
+                LockSupport.parkNanos(due - now);
+            }
+            boolean recorded = due - measureFrom >= 0;
+            if (recorded) {
+                sendDelays.recordValue((now - due) / 1000);
+            }
+            inFlight.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, failure) -> {
+                        if (recorded) {
+                            latencies.recordValue((System.nanoTime() - due) / 1000);
+                            count(response, failure);
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).exceptionally((failure) -> null).join();
+    }
+
+    String report(double seconds) {
+        Histogram latency = latencies.getIntervalHistogram();
+        Histogram sendDelay = sendDelays.getIntervalHistogram();
+        return "%-12s %8d %9.1f %8d %8d %8d %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f".formatted(name,
+                latency.getTotalCount(), latency.getTotalCount() / seconds,
+                granted.sum(), masked.sum(), denied.sum(), limited.sum(), failed.sum(),
+                millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                millis(latency.getMaxValue()), millis(sendDelay.getMaxValue()));
+    }
+
+    static String header() {
+        return "%-12s %8s %9s %8s %8s %8s %8s %8s %9s %9s %9s %9s %9s %9s".formatted("scenario",
+                "count", "req/s", "granted", "masked", "denied", "limited", "failed",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "late ms");
+    }
+
+    private void count(HttpResponse<String> response, Throwable failure) {
+        if (failure != null) {
+            failed.increment();
+        } else if (response.statusCode() == 403) {
+            denied.increment();
+        } else if (response.statusCode() == 429) {
+            limited.increment();
+        } else if (response.statusCode() / 100 != 2) {
+            failed.increment();
+        } else if (response.body().contains(MASK)) {
+            masked.increment();
+        } else {
+            granted.increment();
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000d;
+    }
+}
@@ -0,0 +1,11 @@
+package com.angelozero.spring.security64.audit;
+
+import java.util.Locale;
+
+public enum AuditAction {
+    SAVE, UPDATE, DENIED, MASKED;
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
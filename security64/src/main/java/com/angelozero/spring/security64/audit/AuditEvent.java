@@ -0,0 +1,4 @@
+package com.angelozero.spring.security64.audit;
+
+public record AuditEvent(long timestamp, AuditAction action, String principal, String target, Integer accountId) {
+}
@@ -0,0 +1,220 @@
+package com.angelozero.spring.security64.audit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Background thread draining an {@link AuditTrail} into NDJSON files, one event per line, flushed once per batch.
+ * Each start opens a new {@code audit-NNNNNN.ndjson}; a file is rotated once it reaches {@code maxFileSize} and only
+ * the latest {@code maxFiles} are kept. Producers never wake the writer, it polls the trail every
+ * {@code pollInterval} while the trail is empty.
+ * <p>
+ * A write that fails abandons the current file: the failure is logged and the writer moves on to the next file number,
+ * retrying every {@code 20 * pollInterval} while the file cannot be opened. Events recorded meanwhile wait in the
+ * trail, and once it is full they are counted as dropped.
+ */
+public class AuditFileWriter implements Closeable {
+
+    private static final Pattern FILE_NAME = Pattern.compile("audit-(\\d{6})\\.ndjson");
+    private static final int BATCH_SIZE = 1024;
+    private static final int RETRY_POLLS = 20;
+    private static final Log logger = LogFactory.getLog(AuditFileWriter.class);
+
+    private final AuditTrail auditTrail;
+    private final Path directory;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final Duration pollInterval;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Thread writer;
+    private volatile boolean closed;
+    private boolean failing;
+
+    private int fileNumber;
+    private FileChannel channel;
+    private JsonGenerator generator;
+
+    public AuditFileWriter(AuditTrail auditTrail, Path directory, long maxFileSize, int maxFiles, Duration pollInterval) {
+        this.auditTrail = auditTrail;
+        this.directory = directory;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+        this.pollInterval = pollInterval;
+        this.fileNumber = lastFileNumber() + 1;
+        open();
+        this.writer = Thread.ofPlatform().name("audit-writer").daemon().start(this::writeLoop);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (generator != null) {
+            try {
+                generator.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot close the audit file", e);
+            }
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            boolean closing = closed;
+            if (generator == null && !reopen()) {
+                if (closing) {
+                    return;
+                }
+                LockSupport.parkNanos(pollInterval.toNanos() * RETRY_POLLS);
+                continue;
+            }
+            int written;
+            try {
+                written = auditTrail.drain(this::write, BATCH_SIZE);
+                if (written > 0) {
+                    flush();
+                }
+            } catch (UncheckedIOException e) {
+                logger.error(STR."Cannot write audit file \{file()}, moving on to the next one", e);
+                abandon();
+                continue;
+            }
+            if (written == 0) {
+                if (closing) {
+                    return;
+                }
+                LockSupport.parkNanos(pollInterval.toNanos());
+            }
+        }
+    }
+
+    private void write(AuditEvent event) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("time", Instant.ofEpochMilli(event.timestamp()).toString());
+            generator.writeStringField("action", event.action().tag());
+            generator.writeStringField("principal", event.principal());
+            generator.writeStringField("target", event.target());
+            if (event.accountId() != null) {
+                generator.writeNumberField("accountId", event.accountId());
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write the audit file", e);
+        }
+    }
+
+    // a full file is closed here and the next one opened by the write loop, the same way as after a failure
+    private void flush() {
+        try {
+            generator.flush();
+            if (channel.size() >= maxFileSize) {
+                JsonGenerator full = generator;
+                generator = null;
+                fileNumber++;
+                full.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write the audit file", e);
+        }
+    }
+
+    private boolean reopen() {
+        try {
+            open();
+        } catch (UncheckedIOException e) {
+            if (!failing) {
+                logger.error(STR."Cannot open audit file \{file()}, retrying every \{pollInterval.multipliedBy(RETRY_POLLS)}", e);
+                failing = true;
+            }
+            return false;
+        }
+        if (failing) {
+            logger.info(STR."Audit events are written to \{file()} again");
+            failing = false;
+        }
+        try {
+            deleteExpiredFiles();
+        } catch (IOException e) {
+            logger.warn(STR."Cannot delete expired audit files from \{directory}", e);
+        }
+        return true;
+    }
+
+    // the partly written file is left as it is, later events go to the next one
+    private void abandon() {
+        if (generator == null) {
+            return;
+        }
+        try {
+            generator.close();
+        } catch (IOException e) {
+            // already failing, the write error has been logged
+        }
+        generator = null;
+        fileNumber++;
+    }
+
+    private Path file() {
+        return directory.resolve(String.format("audit-%06d.ndjson", fileNumber));
+    }
+
+    private void open() {
+        Path file = file();
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            generator = jsonFactory.createGenerator(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+            generator.setRootValueSeparator(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(STR."Cannot open audit file \{file}", e);
+        }
+    }
+
+    private void deleteExpiredFiles() throws IOException {
+        for (int number = fileNumber - maxFiles; number >= 0; number--) {
+            if (!Files.deleteIfExists(directory.resolve(String.format("audit-%06d.ndjson", number)))) {
+                return;
+            }
+        }
+    }
+
+    private int lastFileNumber() {
+        if (!Files.isDirectory(directory)) {
+            return -1;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map((file) -> FILE_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .mapToInt((matcher) -> Integer.parseInt(matcher.group(1)))
+                    .max()
+                    .orElse(-1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(STR."Cannot list audit directory \{directory}", e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.angelozero.spring.security64.audit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi producer, single consumer ring buffer of audit events. Every slot carries a sequence number:
+ * producers claim a position with a CAS on the tail and publish the filled slot by advancing its sequence, the
+ * consumer frees it by moving the sequence one lap ahead. Recording never blocks nor allocates (the account id is
+ * kept as an {@code int}, {@link #NO_ACCOUNT} standing for none); when the consumer is a whole lap behind the event
+ * is dropped and counted. Events are lost that way, so the first drop of an episode is logged as a warning and the
+ * end of the episode, once the consumer drains again, with the number of events dropped so far.
+ */
+public class AuditTrail {
+
+    public static final int NO_ACCOUNT = Integer.MIN_VALUE;
+
+    private static final Log logger = LogFactory.getLog(AuditTrail.class);
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicBoolean dropping = new AtomicBoolean();
+    private final Map<Method, String> targets = new ConcurrentHashMap<>();
+    private long head;
+
+    public AuditTrail(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Audit trail capacity must be a power of two");
+        }
+        this.slots = new Slot[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot(i);
+        }
+    }
+
+    public boolean record(AuditAction action, Method method, int accountId) {
+        String target = targets.get(method);
+        if (target == null) {
+            target = targets.computeIfAbsent(method, (key) -> STR."\{key.getDeclaringClass().getSimpleName()}.\{key.getName()}");
+        }
+        return record(action, target, accountId);
+    }
+
+    // the principal is read from the SecurityContextHolder of the calling thread
+    public boolean record(AuditAction action, String target, int accountId) {
+        Authentication authentication = SecurityContextHolder.getContextHolderStrategy().getContext().getAuthentication();
+        return record(action, authentication == null ? null : authentication.getName(), target, accountId);
+    }
+
+    public boolean record(AuditAction action, String principal, String target, int accountId) {
+        long timestamp = System.currentTimeMillis();
+        long position = tail.get();
+        while (true) {
+            Slot slot = slots[(int) position & mask];
+            long sequence = slot.sequence;
+            if (sequence == position) {
+                long witness = tail.compareAndExchange(position, position + 1);
+                if (witness == position) {
+                    slot.timestamp = timestamp;
+                    slot.action = action;
+                    slot.principal = principal;
+                    slot.target = target;
+                    slot.accountId = accountId;
+                    slot.sequence = position + 1;
+                    return true;
+                }
+                position = witness;
+            } else if (sequence < position) {
+                dropped.increment();
+                if (!dropping.get() && dropping.compareAndSet(false, true)) {
+                    logger.warn(STR."Audit trail is full (\{slots.length} events), dropping events until the writer catches up");
+                }
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    // single consumer: must not be called by more than one thread at a time
+    public int drain(Consumer<AuditEvent> consumer, int maxEvents) {
+        int drained = 0;
+        while (drained < maxEvents) {
+            Slot slot = slots[(int) head & mask];
+            if (slot.sequence != head + 1) {
+                break;
+            }
+            AuditEvent event = new AuditEvent(slot.timestamp, slot.action, slot.principal, slot.target,
+                    slot.accountId == NO_ACCOUNT ? null : slot.accountId);
+            slot.principal = null;
+            slot.target = null;
+            slot.sequence = head + slots.length;
+            head++;
+            drained++;
+            consumer.accept(event);
+        }
+        if (drained > 0 && dropping.get() && dropping.compareAndSet(true, false)) {
+            logger.warn(STR."Audit writer caught up, \{dropped.sum()} events dropped since startup");
+        }
+        return drained;
+    }
+
+    public static int accountId(Integer id) {
+        return id == null ? NO_ACCOUNT : id;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    private static final class Slot {
+
+        private volatile long sequence;
+        private long timestamp;
+        private AuditAction action;
+        private String principal;
+        private String target;
+        private int accountId;
+
+        Slot(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
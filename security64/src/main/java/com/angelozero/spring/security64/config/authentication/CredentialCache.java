@@ -0,0 +1,146 @@
+package com.angelozero.spring.security64.config.authentication;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.security.core.Authentication;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers successfully verified credentials, keyed by an HMAC-SHA256 of username and password under a random
+ * per process key, so neither the password nor an offline attackable hash of it is ever held. Entries live in a
+ * Caffeine cache bounded by the TTL and the maximum size. {@link #invalidate(String)} moves the user to a newer
+ * generation, which immediately turns every entry cached for that user into a miss.
+ * <p>
+ * Generations come from one process wide clock and are only tracked for users that still have cached entries: a
+ * user without any falls back to the current clock, which is never older than a generation the user once had, so
+ * dropping the record cannot bring back credentials that were invalidated.
+ */
+public class CredentialCache {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Cache<Key, Entry> entries;
+    private final Map<String, Generation> generations = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final Mac mac;
+    private final int maxSize;
+
+    public CredentialCache(Duration ttl, int maxSize) {
+        this(ttl, maxSize, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    CredentialCache(Duration ttl, int maxSize, Ticker ticker, Executor executor) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxSize, 0))
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .executor(executor)
+                .<Key, Entry>removalListener((key, entry, cause) -> release(entry.username()))
+                .build();
+        this.maxSize = maxSize;
+        byte[] salt = new byte[32];
+        new SecureRandom().nextBytes(salt);
+        try {
+            this.mac = Mac.getInstance(ALGORITHM);
+            this.mac.init(new SecretKeySpec(salt, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(STR."\{ALGORITHM} is not available", e);
+        }
+    }
+
+    public Authentication get(String username, String password) {
+        Key key = key(username, password);
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.generation() != generation(username)) {
+            entries.asMap().remove(key, entry);
+            return null;
+        }
+        return entry.authentication();
+    }
+
+    public long generation(String username) {
+        Generation generation = generations.get(username);
+        return generation == null ? clock.get() : generation.value();
+    }
+
+    public void put(String username, String password, long generation, Authentication authentication) {
+        if (maxSize <= 0) {
+            return;
+        }
+        // the entry is counted before it is cached, so its generation is still tracked when the entry lands
+        Generation current = generations.compute(username, (name, tracked) -> {
+            long value = tracked == null ? clock.get() : tracked.value();
+            if (value != generation) {
+                return tracked;
+            }
+            return new Generation(value, tracked == null ? 1 : tracked.entries() + 1);
+        });
+        if (current != null && current.value() == generation) {
+            entries.put(key(username, password), new Entry(username, authentication, generation));
+        }
+    }
+
+    public void invalidate(String username) {
+        long value = clock.incrementAndGet();
+        generations.computeIfPresent(username, (name, tracked) -> new Generation(value, tracked.entries()));
+    }
+
+    public int size() {
+        return Math.toIntExact(entries.estimatedSize());
+    }
+
+    int trackedUsers() {
+        return generations.size();
+    }
+
+    private void release(String username) {
+        generations.computeIfPresent(username,
+                (name, tracked) -> tracked.entries() == 1 ? null : new Generation(tracked.value(), tracked.entries() - 1));
+    }
+
+    private Key key(String username, String password) {
+        try {
+            Mac hmac = (Mac) mac.clone();
+            hmac.update(username.getBytes(StandardCharsets.UTF_8));
+            hmac.update((byte) 0);
+            return new Key(hmac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Key(byte[] digest) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && Arrays.equals(digest, key.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(digest);
+        }
+    }
+
+    private record Entry(String username, Authentication authentication, long generation) {
+    }
+
+    private record Generation(long value, int entries) {
+    }
+}
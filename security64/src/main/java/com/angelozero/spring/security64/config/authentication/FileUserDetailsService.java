@@ -0,0 +1,109 @@
+package com.angelozero.spring.security64.config.authentication;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Serves users from a {@link UserSnapshot} of a local file. A background thread checks the file every
+ * {@code reloadInterval} and, when it changed, loads a new snapshot next to the current one and swaps it in;
+ * lookups never wait for a reload. Once swapped, every user removed or changed by the reload is passed to
+ * {@code onChange}, e.g. to drop its cached credentials. A file that fails to load leaves the current snapshot
+ * in place; replace the file with an atomic move so a reload never reads it half written.
+ * <p>
+ * The returned {@link UserDetails} are shared and keep their password hash, so they must not be used as the principal
+ * of an authentication, see {@code DaoAuthenticationProvider.setForcePrincipalAsString}.
+ */
+public class FileUserDetailsService implements UserDetailsService, Closeable {
+
+    private static final Log logger = LogFactory.getLog(FileUserDetailsService.class);
+
+    private final Path file;
+    private final Duration reloadInterval;
+    private final Consumer<String> onChange;
+    private final Thread reloader;
+    private volatile UserSnapshot snapshot;
+    private volatile boolean closed;
+    private Object version;
+
+    public FileUserDetailsService(Path file, Duration reloadInterval, Consumer<String> onChange) {
+        this.file = file;
+        this.reloadInterval = reloadInterval;
+        this.onChange = onChange;
+        this.version = version();
+        this.snapshot = UserSnapshot.load(file);
+        this.reloader = Thread.ofPlatform().name("users-reloader").daemon().start(this::reloadLoop);
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails user = snapshot.find(username);
+        if (user == null) {
+            throw new UsernameNotFoundException(username);
+        }
+        return user;
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    public synchronized boolean reload() {
+        Object current = version();
+        if (current.equals(version)) {
+            return false;
+        }
+        UserSnapshot next = UserSnapshot.load(file);
+        UserSnapshot previous = snapshot;
+        snapshot = next;
+        version = current;
+        previous.forEachChanged(next, onChange);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(reloader);
+        try {
+            reloader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reloadLoop() {
+        while (!closed) {
+            LockSupport.parkNanos(reloadInterval.toNanos());
+            if (closed) {
+                return;
+            }
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                logger.warn(STR."Cannot reload users from \{file}, keeping the \{snapshot.size()} users loaded before", e);
+            }
+        }
+    }
+
+    private Object version() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return STR."\{attributes.lastModifiedTime()}/\{attributes.size()}/\{attributes.fileKey()}";
+        } catch (IOException e) {
+            throw new UncheckedIOException(STR."Cannot read users file \{file}", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.angelozero.spring.security64.config.authentication;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * @param keys      base64 HMAC secrets by key id; tokens signed with any of them are accepted
+ * @param activeKey key id new tokens are signed with, required once {@code keys} is set
+ */
+@ConfigurationProperties("security64.authentication.token")
+public record SignedTokenProperties(@DefaultValue("false") boolean enabled,
+                                    @DefaultValue("15m") Duration ttl,
+                                    String activeKey,
+                                    Map<String, String> keys) {
+}
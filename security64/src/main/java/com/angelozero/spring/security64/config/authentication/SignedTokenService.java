@@ -0,0 +1,184 @@
+package com.angelozero.spring.security64.config.authentication;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies compact HMAC-SHA256 tokens of the form
+ * {@code keyId.expiresAt.base64url(username).base64url(authorities).base64url(signature)}. Verification only needs
+ * the signing keys, never the user store. Every configured key is accepted while only the active one signs, so keys
+ * rotate by adding the new key, switching the active one and dropping the old key once its tokens have expired.
+ */
+public class SignedTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SigningKey[] keys;
+    private final SigningKey activeKey;
+    private final SignedTokenProperties properties;
+    private final Clock clock;
+    private final Map<String, List<GrantedAuthority>> authorities = new ConcurrentHashMap<>();
+
+    public SignedTokenService(SignedTokenProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        if (properties.keys() == null || properties.keys().isEmpty()) {
+            byte[] secret = new byte[MIN_SECRET_LENGTH];
+            new SecureRandom().nextBytes(secret);
+            this.keys = new SigningKey[]{SigningKey.of("local", secret)};
+            this.activeKey = keys[0];
+            return;
+        }
+
+        this.keys = properties.keys().entrySet().stream()
+                .map((key) -> SigningKey.of(key.getKey(), Base64.getDecoder().decode(key.getValue())))
+                .toArray(SigningKey[]::new);
+        this.activeKey = find(properties.activeKey());
+    }
+
+    public IssuedToken issue(Authentication authentication) {
+        Instant expiresAt = clock.instant().plus(properties.ttl());
+        String authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        String payload = STR."\{activeKey.id()}.\{expiresAt.getEpochSecond()}.\{encode(authentication.getName())}.\{encode(authorities)}";
+        byte[] signature = activeKey.sign(payload.getBytes(StandardCharsets.US_ASCII), payload.length());
+        return new IssuedToken(STR."\{payload}.\{ENCODER.encodeToString(signature)}", expiresAt);
+    }
+
+    /**
+     * @return the authenticated user, or {@code null} when the token is malformed, expired or wrongly signed
+     */
+    public Authentication verify(String token) {
+        int keyEnd = token.indexOf('.');
+        int expiresAtEnd = keyEnd < 0 ? -1 : token.indexOf('.', keyEnd + 1);
+        int usernameEnd = expiresAtEnd < 0 ? -1 : token.indexOf('.', expiresAtEnd + 1);
+        int authoritiesEnd = usernameEnd < 0 ? -1 : token.indexOf('.', usernameEnd + 1);
+        if (authoritiesEnd < 0 || token.indexOf('.', authoritiesEnd + 1) >= 0) {
+            return null;
+        }
+
+        SigningKey key = find(token, keyEnd);
+        if (key == null) {
+            return null;
+        }
+
+        try {
+            long expiresAt = Long.parseLong(token, keyEnd + 1, expiresAtEnd, 10);
+            if (clock.instant().getEpochSecond() >= expiresAt) {
+                return null;
+            }
+
+            byte[] bytes = ascii(token);
+            if (bytes == null) {
+                return null;
+            }
+            byte[] signature = DECODER.decode(token.substring(authoritiesEnd + 1));
+            if (!MessageDigest.isEqual(key.sign(bytes, authoritiesEnd), signature)) {
+                return null;
+            }
+
+            String username = decode(bytes, expiresAtEnd + 1, usernameEnd);
+            return UsernamePasswordAuthenticationToken.authenticated(username, null,
+                    authoritiesOf(token.substring(usernameEnd + 1, authoritiesEnd)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private List<GrantedAuthority> authoritiesOf(String encoded) {
+        return authorities.computeIfAbsent(encoded, (value) -> {
+            byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+            String decoded = decode(bytes, 0, bytes.length);
+            return decoded.isEmpty() ? List.of() : List.copyOf(AuthorityUtils.commaSeparatedStringToAuthorityList(decoded));
+        });
+    }
+
+    private SigningKey find(String token, int keyEnd) {
+        for (SigningKey key : keys) {
+            if (key.id().length() == keyEnd && token.startsWith(key.id())) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private SigningKey find(String id) {
+        for (SigningKey key : keys) {
+            if (key.id().equals(id)) {
+                return key;
+            }
+        }
+        throw new IllegalStateException(STR."Active token key '\{id}' is not one of the configured keys");
+    }
+
+    private static byte[] ascii(String token) {
+        byte[] bytes = new byte[token.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            char character = token.charAt(i);
+            if (character > 0x7F) {
+                return null;
+            }
+            bytes[i] = (byte) character;
+        }
+        return bytes;
+    }
+
+    private static String encode(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(byte[] bytes, int from, int to) {
+        ByteBuffer decoded = DECODER.decode(ByteBuffer.wrap(bytes, from, to - from));
+        return StandardCharsets.UTF_8.decode(decoded).toString();
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+
+    private record SigningKey(String id, Mac mac) {
+
+        static SigningKey of(String id, byte[] secret) {
+            if (secret.length < MIN_SECRET_LENGTH) {
+                throw new IllegalStateException(STR."Token key '\{id}' must have at least \{MIN_SECRET_LENGTH} bytes");
+            }
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(new SecretKeySpec(secret, ALGORITHM));
+                return new SigningKey(id, mac);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(STR."\{ALGORITHM} is not available", e);
+            }
+        }
+
+        byte[] sign(byte[] payload, int length) {
+            try {
+                Mac signer = (Mac) mac.clone();
+                signer.update(payload, 0, length);
+                return signer.doFinal();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.angelozero.spring.security64.config.authentication;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Immutable, compact copy of a users file. Usernames and password hashes are UTF-8 bytes packed into one array,
+ * found through an open addressing table of ints; users sharing the same authorities share one list. A user is
+ * turned into a {@link UserDetails} on its first lookup and that same immutable instance is returned afterwards.
+ * <p>
+ * The file uses the {@code users.properties} line format, {@code username=password[,authority...][,enabled|disabled]},
+ * without properties escapes; blank lines and lines starting with {@code #} are skipped.
+ */
+public final class UserSnapshot {
+
+    private final byte[] bytes;
+    // user i: username at [offsets[2i], offsets[2i + 1]), password at [offsets[2i + 1], offsets[2i + 2])
+    private final int[] offsets;
+    private final int[] authoritySets;
+    private final List<List<GrantedAuthority>> distinctAuthorities;
+    private final BitSet disabled;
+    private final int[] table;
+    private final UserDetails[] users;
+
+    private UserSnapshot(byte[] bytes, int[] offsets, int[] authoritySets, List<List<GrantedAuthority>> distinctAuthorities,
+                         BitSet disabled, int size) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+        this.authoritySets = authoritySets;
+        this.distinctAuthorities = distinctAuthorities;
+        this.disabled = disabled;
+        this.table = new int[Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1];
+        this.users = new UserDetails[size];
+        for (int user = 0; user < size; user++) {
+            index(user);
+        }
+    }
+
+    public static UserSnapshot load(Path file) {
+        Builder builder = new Builder();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                line = line.strip();
+                if (!line.isEmpty() && line.charAt(0) != '#') {
+                    builder.add(line, number);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(STR."Cannot read users file \{file}", e);
+        }
+        return builder.build();
+    }
+
+    public UserDetails find(String username) {
+        byte[] key = username.getBytes(StandardCharsets.UTF_8);
+        int slot = slotOf(key, 0, key.length);
+        if (slot < 0) {
+            return null;
+        }
+        int user = table[slot] - 1;
+        UserDetails details = users[user];
+        if (details == null) {
+            // racing threads may each build one, any of them is fine to keep
+            details = new StoredUser(username, string(offsets[2 * user + 1], offsets[2 * user + 2]),
+                    distinctAuthorities.get(authoritySets[user]), !disabled.get(user));
+            users[user] = details;
+        }
+        return details;
+    }
+
+    public int size() {
+        return users.length;
+    }
+
+    /**
+     * Calls {@code listener} with every user of this snapshot that is missing from {@code next} or whose password,
+     * authorities or enabled flag differ there.
+     */
+    public void forEachChanged(UserSnapshot next, Consumer<String> listener) {
+        for (int user = 0; user < users.length; user++) {
+            int from = offsets[2 * user];
+            int to = offsets[2 * user + 1];
+            if (table[slotOf(bytes, from, to)] - 1 != user) {
+                continue; // replaced by a later line of the same file
+            }
+            int slot = next.slotOf(bytes, from, to);
+            if (slot < 0 || !sameUser(user, next, next.table[slot] - 1)) {
+                listener.accept(string(from, to));
+            }
+        }
+    }
+
+    private boolean sameUser(int user, UserSnapshot next, int nextUser) {
+        return Arrays.equals(bytes, offsets[2 * user + 1], offsets[2 * user + 2],
+                next.bytes, next.offsets[2 * nextUser + 1], next.offsets[2 * nextUser + 2])
+                && distinctAuthorities.get(authoritySets[user]).equals(next.distinctAuthorities.get(next.authoritySets[nextUser]))
+                && disabled.get(user) == next.disabled.get(nextUser);
+    }
+
+    private void index(int user) {
+        int from = offsets[2 * user];
+        int to = offsets[2 * user + 1];
+        int mask = table.length - 1;
+        for (int slot = hash(bytes, from, to) & mask; ; slot = (slot + 1) & mask) {
+            int existing = table[slot] - 1;
+            if (existing < 0 || usernameEquals(existing, bytes, from, to)) {
+                table[slot] = user + 1; // a later line replaces an earlier one
+                return;
+            }
+        }
+    }
+
+    private int slotOf(byte[] key, int from, int to) {
+        int mask = table.length - 1;
+        for (int slot = hash(key, from, to) & mask; ; slot = (slot + 1) & mask) {
+            int user = table[slot] - 1;
+            if (user < 0) {
+                return -1;
+            }
+            if (usernameEquals(user, key, from, to)) {
+                return slot;
+            }
+        }
+    }
+
+    private boolean usernameEquals(int user, byte[] key, int from, int to) {
+        return Arrays.equals(bytes, offsets[2 * user], offsets[2 * user + 1], key, from, to);
+    }
+
+    private String string(int from, int to) {
+        return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    private static int hash(byte[] key, int from, int to) {
+        int hash = 1;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + key[i];
+        }
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Builder {
+
+        private final Map<List<String>, Integer> authoritySetIds = new HashMap<>();
+        private final List<List<GrantedAuthority>> distinctAuthorities = new ArrayList<>();
+        private final BitSet disabled = new BitSet();
+        private byte[] bytes = new byte[4096];
+        private int length;
+        private int[] offsets = new int[257];
+        private int[] authoritySets = new int[128];
+        private int size;
+
+        void add(String line, int number) {
+            int equals = line.indexOf('=');
+            String[] values = line.substring(equals + 1).split(",");
+            if (equals <= 0 || values[0].isBlank()) {
+                throw new IllegalArgumentException(STR."Line \{number} is not 'username=password[,authority...]'");
+            }
+
+            List<String> authorities = new ArrayList<>(values.length - 1);
+            boolean enabled = true;
+            for (int i = 1; i < values.length; i++) {
+                String value = values[i].strip();
+                switch (value) {
+                    case "enabled" -> enabled = true;
+                    case "disabled" -> enabled = false;
+                    case "" -> { }
+                    default -> authorities.add(value);
+                }
+            }
+
+            if (size == authoritySets.length) {
+                authoritySets = Arrays.copyOf(authoritySets, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 4 + 1);
+            }
+            offsets[2 * size] = length;
+            append(line.substring(0, equals).strip());
+            offsets[2 * size + 1] = length;
+            append(values[0].strip());
+            offsets[2 * size + 2] = length;
+            authoritySets[size] = authoritySetIds.computeIfAbsent(List.copyOf(authorities), (names) -> {
+                distinctAuthorities.add(names.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList());
+                return distinctAuthorities.size() - 1;
+            });
+            disabled.set(size, !enabled);
+            size++;
+        }
+
+        UserSnapshot build() {
+            return new UserSnapshot(Arrays.copyOf(bytes, length), Arrays.copyOf(offsets, 2 * size + 1),
+                    Arrays.copyOf(authoritySets, size), List.copyOf(distinctAuthorities), disabled, size);
+        }
+
+        private void append(String value) {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            if (length + encoded.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + encoded.length));
+            }
+            System.arraycopy(encoded, 0, bytes, length, encoded.length);
+            length += encoded.length;
+        }
+    }
+
+    private record StoredUser(String username, String password, List<GrantedAuthority> authorities,
+                              boolean enabled) implements UserDetails {
+
+        @Override
+        public String getUsername() {
+            return username;
+        }
+
+        @Override
+        public String getPassword() {
+            return password;
+        }
+
+        @Override
+        public List<GrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        @Override
+        public String toString() {
+            return STR."StoredUser[username=\{username}, authorities=\{authorities}, enabled=\{enabled}]";
+        }
+    }
+}
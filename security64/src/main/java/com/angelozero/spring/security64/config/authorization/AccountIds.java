@@ -0,0 +1,31 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.audit.AuditTrail;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.angelozero.spring.security64.zzz.BankAccountData;
+
+public final class AccountIds {
+
+    private AccountIds() {
+    }
+
+    public static int of(Object target) {
+        if (target instanceof BankAccount account) {
+            return AuditTrail.accountId(account.getId());
+        }
+        if (target instanceof BankAccountData account) {
+            return AuditTrail.accountId(account.getId());
+        }
+        return AuditTrail.NO_ACCOUNT;
+    }
+
+    public static int find(Object[] arguments) {
+        for (Object argument : arguments) {
+            int id = of(argument);
+            if (id != AuditTrail.NO_ACCOUNT) {
+                return id;
+            }
+        }
+        return AuditTrail.NO_ACCOUNT;
+    }
+}
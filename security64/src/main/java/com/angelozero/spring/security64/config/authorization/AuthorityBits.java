@@ -0,0 +1,97 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Interns authority names into small ids and expands every authentication, through the {@link RoleHierarchy}, into a
+ * bitset over those ids, so {@code hasRole}/{@code hasAuthority} become a map lookup and a bit test instead of a scan
+ * of the granted authorities. The bitset is built once per authentication object, on {@link AuthenticationSuccessEvent}
+ * or else on its first check, and is held weakly by that object.
+ */
+public class AuthorityBits implements ApplicationListener<AuthenticationSuccessEvent> {
+
+    private static final long[] NONE = new long[0];
+
+    private final Map<String, Integer> authorityIds = new ConcurrentHashMap<>();
+    private final Map<String, Integer> roleIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final Cache<Authentication, long[]> bits = Caffeine.newBuilder().weakKeys().build();
+    private final RoleHierarchy roleHierarchy;
+    private final String rolePrefix;
+
+    public AuthorityBits(RoleHierarchy roleHierarchy, String rolePrefix) {
+        this.roleHierarchy = roleHierarchy;
+        this.rolePrefix = rolePrefix;
+    }
+
+    @Override
+    public void onApplicationEvent(AuthenticationSuccessEvent event) {
+        of(event.getAuthentication());
+    }
+
+    public long[] of(Authentication authentication) {
+        return authentication == null ? NONE : bits.get(authentication, this::expand);
+    }
+
+    // names nobody was ever granted are not interned, they cannot match anyway
+    public boolean hasAuthority(long[] bits, String authority) {
+        Integer id = authorityIds.get(authority);
+        return id != null && contains(bits, id);
+    }
+
+    // "MASTER" and "ROLE_MASTER" both resolve to ROLE_MASTER, as in SecurityExpressionRoot
+    public boolean hasRole(long[] bits, String role) {
+        Integer id = roleIds.get(role);
+        return id != null && contains(bits, id);
+    }
+
+    private long[] expand(Authentication authentication) {
+        long[] words = NONE;
+        for (GrantedAuthority granted : roleHierarchy.getReachableGrantedAuthorities(authentication.getAuthorities())) {
+            String authority = granted.getAuthority();
+            if (authority == null) {
+                continue;
+            }
+            int id = intern(authority);
+            if (id >>> 6 >= words.length) {
+                words = Arrays.copyOf(words, (id >>> 6) + 1);
+            }
+            words[id >>> 6] |= 1L << id;
+        }
+        return words;
+    }
+
+    private int intern(String authority) {
+        Integer id = authorityIds.get(authority);
+        if (id != null) {
+            return id;
+        }
+        return authorityIds.computeIfAbsent(authority, (name) -> {
+            int newId = nextId.getAndIncrement();
+            if (name.startsWith(rolePrefix)) {
+                roleIds.put(name, newId);
+                String role = name.substring(rolePrefix.length());
+                if (!role.startsWith(rolePrefix)) {
+                    roleIds.put(role, newId);
+                }
+            }
+            return newId;
+        });
+    }
+
+    private static boolean contains(long[] bits, int id) {
+        int word = id >>> 6;
+        return word < bits.length && (bits[word] & (1L << id)) != 0;
+    }
+}
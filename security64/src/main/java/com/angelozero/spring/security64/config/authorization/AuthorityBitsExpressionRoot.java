@@ -0,0 +1,156 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.core.Authentication;
+
+import java.io.Serializable;
+import java.util.function.Supplier;
+
+/**
+ * Same operations as Spring's {@code MethodSecurityExpressionRoot}, whose role checks are final, but with
+ * {@code hasRole}/{@code hasAnyRole}/{@code hasAuthority}/{@code hasAnyAuthority} answered from {@link AuthorityBits}.
+ */
+public class AuthorityBitsExpressionRoot implements MethodSecurityExpressionOperations {
+
+    public final boolean permitAll = true;
+    public final boolean denyAll = false;
+    public final String read = "read";
+    public final String write = "write";
+    public final String create = "create";
+    public final String delete = "delete";
+    public final String admin = "administration";
+
+    private final Supplier<Authentication> authentication;
+    private final AuthorityBits authorityBits;
+    private final AuthenticationTrustResolver trustResolver;
+    private final PermissionEvaluator permissionEvaluator;
+    private final Object target;
+    private long[] bits;
+    private Object filterObject;
+    private Object returnObject;
+
+    public AuthorityBitsExpressionRoot(Supplier<Authentication> authentication, AuthorityBits authorityBits,
+                                       AuthenticationTrustResolver trustResolver, PermissionEvaluator permissionEvaluator,
+                                       Object target) {
+        this.authentication = authentication;
+        this.authorityBits = authorityBits;
+        this.trustResolver = trustResolver;
+        this.permissionEvaluator = permissionEvaluator;
+        this.target = target;
+    }
+
+    @Override
+    public Authentication getAuthentication() {
+        return authentication.get();
+    }
+
+    public Object getPrincipal() {
+        return getAuthentication().getPrincipal();
+    }
+
+    @Override
+    public boolean hasAuthority(String authority) {
+        return authorityBits.hasAuthority(bits(), authority);
+    }
+
+    @Override
+    public boolean hasAnyAuthority(String... authorities) {
+        long[] bits = bits();
+        for (String authority : authorities) {
+            if (authorityBits.hasAuthority(bits, authority)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasRole(String role) {
+        return authorityBits.hasRole(bits(), role);
+    }
+
+    @Override
+    public boolean hasAnyRole(String... roles) {
+        long[] bits = bits();
+        for (String role : roles) {
+            if (authorityBits.hasRole(bits, role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean permitAll() {
+        return true;
+    }
+
+    @Override
+    public boolean denyAll() {
+        return false;
+    }
+
+    @Override
+    public boolean isAnonymous() {
+        return trustResolver.isAnonymous(getAuthentication());
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return trustResolver.isAuthenticated(getAuthentication());
+    }
+
+    @Override
+    public boolean isRememberMe() {
+        return trustResolver.isRememberMe(getAuthentication());
+    }
+
+    @Override
+    public boolean isFullyAuthenticated() {
+        return trustResolver.isFullyAuthenticated(getAuthentication());
+    }
+
+    @Override
+    public boolean hasPermission(Object target, Object permission) {
+        return permissionEvaluator.hasPermission(getAuthentication(), target, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Object targetId, String targetType, Object permission) {
+        return permissionEvaluator.hasPermission(getAuthentication(), (Serializable) targetId, targetType, permission);
+    }
+
+    @Override
+    public void setFilterObject(Object filterObject) {
+        this.filterObject = filterObject;
+    }
+
+    @Override
+    public Object getFilterObject() {
+        return filterObject;
+    }
+
+    @Override
+    public void setReturnObject(Object returnObject) {
+        this.returnObject = returnObject;
+    }
+
+    @Override
+    public Object getReturnObject() {
+        return returnObject;
+    }
+
+    @Override
+    public Object getThis() {
+        return target;
+    }
+
+    private long[] bits() {
+        if (bits == null) {
+            bits = authorityBits.of(getAuthentication());
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,49 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates method security expressions against an {@link AuthorityBitsExpressionRoot}. The supplier variant has to
+ * be overridden as a whole: the default one builds its root in a private method.
+ */
+public class AuthorityBitsMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+    private final AuthorityBits authorityBits;
+
+    public AuthorityBitsMethodSecurityExpressionHandler(AuthorityBits authorityBits) {
+        this.authorityBits = authorityBits;
+    }
+
+    @Override
+    public EvaluationContext createEvaluationContext(Supplier<Authentication> authentication, MethodInvocation mi) {
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(createRoot(authentication, mi),
+                specificMethod(mi), mi.getArguments(), getParameterNameDiscoverer());
+        context.setBeanResolver(getBeanResolver());
+        return context;
+    }
+
+    @Override
+    protected MethodSecurityExpressionOperations createSecurityExpressionRoot(Authentication authentication,
+                                                                            MethodInvocation invocation) {
+        return createRoot(() -> authentication, invocation);
+    }
+
+    private AuthorityBitsExpressionRoot createRoot(Supplier<Authentication> authentication, MethodInvocation mi) {
+        return new AuthorityBitsExpressionRoot(authentication, authorityBits, getTrustResolver(),
+                getPermissionEvaluator(), mi.getThis());
+    }
+
+    private static Method specificMethod(MethodInvocation mi) {
+        return AopUtils.getMostSpecificMethod(mi.getMethod(), AopProxyUtils.ultimateTargetClass(mi.getThis()));
+    }
+}
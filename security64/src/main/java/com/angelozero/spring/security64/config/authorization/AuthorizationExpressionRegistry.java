@@ -0,0 +1,162 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.gateway.ExportBankAccountsGateway;
+import com.angelozero.spring.security64.gateway.FindBankAccountByIdGateway;
+import com.angelozero.spring.security64.gateway.FindBankAccountsByOwnerGateway;
+import com.angelozero.spring.security64.gateway.SaveBankAccountGateway;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.angelozero.spring.security64.zzz.BankAccountData;
+import com.angelozero.spring.security64.zzz.BankAccountInterface;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PostAuthorize;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.method.HandleAuthorizationDenied;
+import org.springframework.security.authorization.method.MethodAuthorizationDeniedHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parses the (template resolved) {@code @PreAuthorize}/{@code @PostAuthorize} expressions of the bank account
+ * gateways once at startup, so the interceptors never substitute or parse on the request path. The field rules of
+ * the returned bank accounts, whose denials are handled by a {@link HandleAuthorizationDenied handler}, are kept
+ * apart together with their handler. All of a method's expressions sit in one entry that is looked up once per call,
+ * so the hit and miss counters count calls, and a miss is a call handed to Spring Security, which parses its own.
+ */
+@Component
+public class AuthorizationExpressionRegistry implements SmartInitializingSingleton {
+
+    private static final List<Class<?>> GATEWAYS = List.of(
+            BankAccountInterface.class, FindBankAccountByIdGateway.class, SaveBankAccountGateway.class,
+            ExportBankAccountsGateway.class, FindBankAccountsByOwnerGateway.class);
+    private static final List<Class<?>> RETURN_OBJECTS = List.of(BankAccount.class, BankAccountData.class);
+
+    public record HandledExpression(Expression expression, MethodAuthorizationDeniedHandler handler) {
+    }
+
+    /**
+     * Everything parsed for one method, looked up once per call; any of the three may be {@code null}.
+     */
+    public record Expressions(Expression preAuthorize, Expression postAuthorize, HandledExpression handledPreAuthorize) {
+
+        private static final Expressions NONE = new Expressions(null, null, null);
+
+        private int size() {
+            return (preAuthorize != null ? 1 : 0) + (postAuthorize != null ? 1 : 0) + (handledPreAuthorize != null ? 1 : 0);
+        }
+    }
+
+    private final Map<Method, Expressions> expressions = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final ApplicationContext applicationContext;
+    private final MethodSecurityExpressionHandler expressionHandler;
+    private final int maxSize;
+
+    public AuthorizationExpressionRegistry(ApplicationContext applicationContext,
+                                           MethodSecurityExpressionHandler expressionHandler,
+                                           @Value("${security64.authorization.expression-registry.max-size:1024}") int maxSize) {
+        this.applicationContext = applicationContext;
+        this.expressionHandler = expressionHandler;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (Class<?> gateway : GATEWAYS) {
+            for (String beanName : applicationContext.getBeanNamesForType(gateway)) {
+                Class<?> beanType = applicationContext.getType(beanName, false);
+                if (beanType != null) {
+                    register(ClassUtils.getUserClass(beanType));
+                }
+            }
+        }
+        RETURN_OBJECTS.forEach(this::register);
+    }
+
+    public void register(Class<?> type) {
+        ReflectionUtils.doWithMethods(type, this::parse, ReflectionUtils.USER_DECLARED_METHODS);
+        for (Class<?> anInterface : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+            for (Method method : anInterface.getMethods()) {
+                parse(method);
+            }
+        }
+    }
+
+    /**
+     * @return the parsed expressions of the method, counted as a hit, or {@code null}, counted as a miss, when the
+     * registry has none and the caller falls back to Spring Security
+     */
+    public Expressions expressions(Method method) {
+        Expressions parsed = expressions.get(method);
+        if (parsed == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return parsed;
+    }
+
+    public MethodSecurityExpressionHandler getExpressionHandler() {
+        return expressionHandler;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return expressions.values().stream().mapToInt(Expressions::size).sum();
+    }
+
+    private void parse(Method method) {
+        HandleAuthorizationDenied handleAuthorizationDenied = AnnotationUtils.findAnnotation(method, HandleAuthorizationDenied.class);
+        if (handleAuthorizationDenied != null) {
+            parseHandled(method, handleAuthorizationDenied.handlerClass());
+            return;
+        }
+        Expressions parsed = expressions.getOrDefault(method, Expressions.NONE);
+        Expression preAuthorize = parsed.preAuthorize() != null ? parsed.preAuthorize() : parse(method, PreAuthorize.class);
+        Expression postAuthorize = parsed.postAuthorize() != null ? parsed.postAuthorize() : parse(method, PostAuthorize.class);
+        if (preAuthorize != null || postAuthorize != null) {
+            expressions.put(method, new Expressions(preAuthorize, postAuthorize, parsed.handledPreAuthorize()));
+        }
+    }
+
+    private <H extends MethodAuthorizationDeniedHandler> void parseHandled(Method method, Class<H> handlerClass) {
+        String expression = ExpressionTemplates.resolve(method, PreAuthorize.class);
+        Expressions parsed = expressions.getOrDefault(method, Expressions.NONE);
+        if (expression == null || parsed.handledPreAuthorize() != null || size() >= maxSize) {
+            return;
+        }
+        MethodAuthorizationDeniedHandler handler = applicationContext.getBeanProvider(handlerClass)
+                .getIfAvailable(() -> BeanUtils.instantiateClass(handlerClass));
+        HandledExpression handled = new HandledExpression(expressionHandler.getExpressionParser().parseExpression(expression), handler);
+        expressions.put(method, new Expressions(parsed.preAuthorize(), parsed.postAuthorize(), handled));
+    }
+
+    private Expression parse(Method method, Class<? extends Annotation> type) {
+        String expression = ExpressionTemplates.resolve(method, type);
+        if (expression == null || size() >= maxSize) {
+            return null;
+        }
+        return expressionHandler.getExpressionParser().parseExpression(expression);
+    }
+}
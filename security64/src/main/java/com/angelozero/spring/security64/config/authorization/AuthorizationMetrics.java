@@ -0,0 +1,121 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.gateway.annotation.PostCheckBankAccountOwner;
+import com.angelozero.spring.security64.gateway.annotation.PreCheckBankAccountOwner;
+import com.angelozero.spring.security64.jfr.AuthorizationDecisionEvent;
+import com.angelozero.spring.security64.jfr.JfrEvents;
+import com.angelozero.spring.security64.zzz.PosReadBankAccount;
+import com.angelozero.spring.security64.zzz.PreWriteBankAccount;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.security.access.prepost.PostAuthorize;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every authorization decision as {@code security64.authorization}, tagged by method, annotation and outcome.
+ * The timers of a method are created on its first decision, afterwards recording is a map lookup and a histogram
+ * update, without allocating. While a JFR recording enables it, each decision is also committed as an
+ * {@link AuthorizationDecisionEvent}.
+ */
+@Component
+public class AuthorizationMetrics {
+
+    public static final String TIMER = "security64.authorization";
+
+    private static final List<Class<? extends Annotation>> PRE_ANNOTATIONS = List.of(
+            PreCheckBankAccountOwner.class, PreWriteBankAccount.class, PreAuthorize.class);
+    private static final List<Class<? extends Annotation>> POST_ANNOTATIONS = List.of(
+            PostCheckBankAccountOwner.class, PosReadBankAccount.class, PostAuthorize.class);
+
+    public enum Outcome {
+        GRANTED, DENIED, MASKED;
+
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private record Rule(String method, String annotation, Timer[] timers) {
+    }
+
+    private final Map<Method, Rule> preAuthorize = new ConcurrentHashMap<>();
+    private final Map<Method, Rule> postAuthorize = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Duration maximumExpectedValue;
+
+    public AuthorizationMetrics(MeterRegistry meterRegistry,
+                                @Value("${security64.authorization.metrics.maximum-expected-value:100ms}") Duration maximumExpectedValue) {
+        this.meterRegistry = meterRegistry;
+        this.maximumExpectedValue = maximumExpectedValue;
+    }
+
+    public void recordPreAuthorize(Method method, Outcome outcome, long startNanos) {
+        long duration = System.nanoTime() - startNanos;
+        Rule rule = preAuthorize.get(method);
+        if (rule == null) {
+            rule = preAuthorize.computeIfAbsent(method, (key) -> register(key, PRE_ANNOTATIONS));
+        }
+        record(rule, "pre", outcome, duration);
+    }
+
+    public void recordPostAuthorize(Method method, Outcome outcome, long startNanos) {
+        long duration = System.nanoTime() - startNanos;
+        Rule rule = postAuthorize.get(method);
+        if (rule == null) {
+            rule = postAuthorize.computeIfAbsent(method, (key) -> register(key, POST_ANNOTATIONS));
+        }
+        record(rule, "post", outcome, duration);
+    }
+
+    private static void record(Rule rule, String phase, Outcome outcome, long duration) {
+        rule.timers()[outcome.ordinal()].record(duration, TimeUnit.NANOSECONDS);
+
+        AuthorizationDecisionEvent event = new AuthorizationDecisionEvent();
+        if (event.isEnabled()) {
+            event.method = rule.method();
+            event.annotation = rule.annotation();
+            event.phase = phase;
+            event.outcome = outcome.tag();
+            event.principalHash = JfrEvents.principalHash();
+            event.decisionTime = duration;
+            event.commit();
+        }
+    }
+
+    private Rule register(Method method, List<Class<? extends Annotation>> annotations) {
+        String methodName = STR."\{method.getDeclaringClass().getSimpleName()}.\{method.getName()}";
+        String annotation = annotations.stream()
+                .filter((type) -> AnnotationUtils.findAnnotation(method, type) != null)
+                .findFirst()
+                .orElse(annotations.getLast())
+                .getSimpleName();
+
+        Outcome[] outcomes = Outcome.values();
+        Timer[] timers = new Timer[outcomes.length];
+        for (Outcome outcome : outcomes) {
+            timers[outcome.ordinal()] = Timer.builder(TIMER)
+                    .description("Time spent deciding a method security check")
+                    .tag("method", methodName)
+                    .tag("annotation", annotation)
+                    .tag("outcome", outcome.tag())
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(100))
+                    .maximumExpectedValue(maximumExpectedValue)
+                    .register(meterRegistry);
+        }
+        return new Rule(methodName, annotation, timers);
+    }
+}
@@ -0,0 +1,36 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.security.authorization.method.AuthorizationAdvisorProxyFactory;
+
+/**
+ * Gives the return object proxy factory its {@link PresortedAdvisors} once every singleton is up, since the
+ * {@code @AuthorizeReturnObject} interceptor resets the factory's advisors when it is created. Priority ordered
+ * for the same reason as {@link MethodSecurityFastPathPostProcessor}.
+ */
+public class AuthorizationProxyFactoryPostProcessor implements BeanPostProcessor, PriorityOrdered, SmartInitializingSingleton {
+
+    private AuthorizationAdvisorProxyFactory proxyFactory;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof AuthorizationAdvisorProxyFactory authorizationAdvisorProxyFactory) {
+            proxyFactory = authorizationAdvisorProxyFactory;
+        }
+        return bean;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (proxyFactory != null) {
+            PresortedAdvisors.install(proxyFactory);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+}
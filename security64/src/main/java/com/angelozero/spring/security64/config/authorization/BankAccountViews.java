@@ -0,0 +1,40 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.config.handler.MaskAuthorizationDeniedHandler;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.angelozero.spring.security64.usecase.domain.ReadOnlyBankAccount;
+import com.angelozero.spring.security64.zzz.BankAccountData;
+import com.angelozero.spring.security64.zzz.ReadOnlyBankAccountData;
+import org.springframework.security.core.Authentication;
+
+import java.util.Objects;
+
+/**
+ * Applies the "this.owner == authentication?.name" rule of the {@code getAccountNumber} getters once, producing a
+ * read only copy whose account number is already masked for everybody but the owner.
+ */
+public final class BankAccountViews {
+
+    private BankAccountViews() {
+    }
+
+    public static BankAccount of(BankAccount account, Authentication authentication) {
+        if (account instanceof ReadOnlyBankAccount) {
+            return account;
+        }
+        String accountNumber = isOwner(account.getOwner(), authentication) ? account.getAccountNumber() : MaskAuthorizationDeniedHandler.MASK;
+        return new ReadOnlyBankAccount(account.getId(), account.getOwner(), accountNumber, account.getBalance(), account.getVersion());
+    }
+
+    public static BankAccountData of(BankAccountData account, Authentication authentication) {
+        if (account instanceof ReadOnlyBankAccountData) {
+            return account;
+        }
+        String accountNumber = isOwner(account.getOwner(), authentication) ? account.getAccountNumber() : MaskAuthorizationDeniedHandler.MASK;
+        return new ReadOnlyBankAccountData(account.getId(), account.getOwner(), accountNumber, account.getBalance());
+    }
+
+    public static boolean isOwner(String owner, Authentication authentication) {
+        return Objects.equals(owner, authentication == null ? null : authentication.getName());
+    }
+}
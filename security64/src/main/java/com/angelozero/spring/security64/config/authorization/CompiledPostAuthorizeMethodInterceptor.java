@@ -0,0 +1,96 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.audit.AuditAction;
+import com.angelozero.spring.security64.audit.AuditTrail;
+import com.angelozero.spring.security64.config.authorization.AuthorizationExpressionRegistry.Expressions;
+import com.angelozero.spring.security64.config.authorization.AuthorizationMetrics.Outcome;
+import com.angelozero.spring.security64.config.handler.MaskAuthorizationDeniedHandler;
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Pointcut;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.authorization.method.AuthorizationAdvisor;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+public class CompiledPostAuthorizeMethodInterceptor implements AuthorizationAdvisor {
+
+    private final AuthorizationAdvisor delegate;
+    private final Supplier<AuthorizationExpressionRegistry> expressionRegistry;
+    private final Supplier<AuthorizationMetrics> metrics;
+    private final Supplier<AuditTrail> auditTrail;
+    private final Supplier<Authentication> authentication = CompiledPreAuthorizeMethodInterceptor::getAuthentication;
+
+    public CompiledPostAuthorizeMethodInterceptor(AuthorizationAdvisor delegate,
+                                                  Supplier<AuthorizationExpressionRegistry> expressionRegistry,
+                                                  Supplier<AuthorizationMetrics> metrics,
+                                                  Supplier<AuditTrail> auditTrail) {
+        this.delegate = delegate;
+        this.expressionRegistry = expressionRegistry;
+        this.metrics = metrics;
+        this.auditTrail = auditTrail;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        AuthorizationExpressionRegistry registry = expressionRegistry.get();
+        Expressions expressions = registry.expressions(invocation.getMethod());
+        Expression expression = expressions == null ? null : expressions.postAuthorize();
+        if (expression == null) {
+            return invokeDelegate(invocation, System.nanoTime());
+        }
+
+        Object result = invocation.proceed();
+        long start = System.nanoTime();
+        MethodSecurityExpressionHandler expressionHandler = registry.getExpressionHandler();
+        EvaluationContext context = expressionHandler.createEvaluationContext(authentication, invocation);
+        expressionHandler.setReturnObject(result, context);
+        if (!ExpressionUtils.evaluateAsBoolean(expression, context)) {
+            metrics.get().recordPostAuthorize(invocation.getMethod(), Outcome.DENIED, start);
+            auditTrail.get().record(AuditAction.DENIED, invocation.getMethod(), AccountIds.of(result));
+            throw new AuthorizationDeniedException("Access Denied", CompiledPreAuthorizeMethodInterceptor.DENIED);
+        }
+        metrics.get().recordPostAuthorize(invocation.getMethod(), Outcome.GRANTED, start);
+        return result;
+    }
+
+    // the delegate proceeds by itself, so this time includes the method; only methods unknown to the registry get here
+    private Object invokeDelegate(MethodInvocation invocation, long start) throws Throwable {
+        Object result;
+        try {
+            result = delegate.invoke(invocation);
+        } catch (AuthorizationDeniedException e) {
+            metrics.get().recordPostAuthorize(invocation.getMethod(), Outcome.DENIED, start);
+            auditTrail.get().record(AuditAction.DENIED, invocation.getMethod(), AccountIds.find(invocation.getArguments()));
+            throw e;
+        }
+        Outcome outcome = result == MaskAuthorizationDeniedHandler.MASK ? Outcome.MASKED : Outcome.GRANTED;
+        metrics.get().recordPostAuthorize(invocation.getMethod(), outcome, start);
+        return result;
+    }
+
+    @Override
+    public Pointcut getPointcut() {
+        return delegate.getPointcut();
+    }
+
+    @Override
+    public Advice getAdvice() {
+        return this;
+    }
+
+    @Override
+    public boolean isPerInstance() {
+        return delegate.isPerInstance();
+    }
+
+    @Override
+    public int getOrder() {
+        return delegate.getOrder();
+    }
+}
@@ -0,0 +1,141 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.audit.AuditAction;
+import com.angelozero.spring.security64.audit.AuditTrail;
+import com.angelozero.spring.security64.config.authorization.AuthorizationExpressionRegistry.Expressions;
+import com.angelozero.spring.security64.config.authorization.AuthorizationExpressionRegistry.HandledExpression;
+import com.angelozero.spring.security64.config.authorization.AuthorizationMetrics.Outcome;
+import com.angelozero.spring.security64.config.handler.MaskAuthorizationDeniedHandler;
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Pointcut;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.authorization.method.AuthorizationAdvisor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+public class CompiledPreAuthorizeMethodInterceptor implements AuthorizationAdvisor {
+
+    static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final AuthorizationAdvisor delegate;
+    private final Supplier<OwnershipAuthorizationManager> ownershipAuthorizationManager;
+    private final Supplier<AuthorizationExpressionRegistry> expressionRegistry;
+    private final Supplier<AuthorizationMetrics> metrics;
+    private final Supplier<AuditTrail> auditTrail;
+    private final Supplier<Authentication> authentication = CompiledPreAuthorizeMethodInterceptor::getAuthentication;
+
+    public CompiledPreAuthorizeMethodInterceptor(AuthorizationAdvisor delegate,
+                                                 Supplier<OwnershipAuthorizationManager> ownershipAuthorizationManager,
+                                                 Supplier<AuthorizationExpressionRegistry> expressionRegistry,
+                                                 Supplier<AuthorizationMetrics> metrics,
+                                                 Supplier<AuditTrail> auditTrail) {
+        this.delegate = delegate;
+        this.ownershipAuthorizationManager = ownershipAuthorizationManager;
+        this.expressionRegistry = expressionRegistry;
+        this.metrics = metrics;
+        this.auditTrail = auditTrail;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        AuthorizationDecision decision = ownershipAuthorizationManager.get().check(authentication, invocation);
+        if (decision == null) {
+            AuthorizationExpressionRegistry registry = expressionRegistry.get();
+            Expressions expressions = registry.expressions(invocation.getMethod());
+            Expression expression = expressions == null ? null : expressions.preAuthorize();
+            if (expression == null) {
+                HandledExpression handled = expressions == null ? null : expressions.handledPreAuthorize();
+                return handled == null ? invokeDelegate(invocation, start) : invokeHandled(invocation, handled, registry, start);
+            }
+
+            EvaluationContext context = registry.getExpressionHandler().createEvaluationContext(authentication, invocation);
+            decision = ExpressionUtils.evaluateAsBoolean(expression, context) ? null : DENIED;
+        }
+        if (decision != null && !decision.isGranted()) {
+            metrics.get().recordPreAuthorize(invocation.getMethod(), Outcome.DENIED, start);
+            auditTrail.get().record(AuditAction.DENIED, invocation.getMethod(), AccountIds.find(invocation.getArguments()));
+            throw new AuthorizationDeniedException("Access Denied", decision);
+        }
+        metrics.get().recordPreAuthorize(invocation.getMethod(), Outcome.GRANTED, start);
+        return invocation.proceed();
+    }
+
+    // field rules are called over and over while a response is written, so they are decided once per request
+    private Object invokeHandled(MethodInvocation invocation, HandledExpression handled,
+                                 AuthorizationExpressionRegistry registry, long start) throws Throwable {
+        Method method = invocation.getMethod();
+        Authentication currentAuthentication = authentication.get();
+        Boolean granted = RequestDecisionMemo.get(currentAuthentication, method, invocation.getThis());
+        if (granted == null) {
+            EvaluationContext context = registry.getExpressionHandler().createEvaluationContext(authentication, invocation);
+            granted = ExpressionUtils.evaluateAsBoolean(handled.expression(), context);
+            RequestDecisionMemo.put(currentAuthentication, method, invocation.getThis(), granted);
+        }
+        if (granted) {
+            metrics.get().recordPreAuthorize(method, Outcome.GRANTED, start);
+            return invocation.proceed();
+        }
+        try {
+            Object result = handled.handler().handleDeniedInvocation(invocation, DENIED);
+            metrics.get().recordPreAuthorize(method, Outcome.MASKED, start);
+            return result;
+        } catch (AuthorizationDeniedException e) {
+            metrics.get().recordPreAuthorize(method, Outcome.DENIED, start);
+            auditTrail.get().record(AuditAction.DENIED, method, AccountIds.of(invocation.getThis()));
+            throw e;
+        }
+    }
+
+    // the delegate proceeds by itself, so this time includes the method; only methods unknown to the registry get here
+    private Object invokeDelegate(MethodInvocation invocation, long start) throws Throwable {
+        Object result;
+        try {
+            result = delegate.invoke(invocation);
+        } catch (AuthorizationDeniedException e) {
+            metrics.get().recordPreAuthorize(invocation.getMethod(), Outcome.DENIED, start);
+            auditTrail.get().record(AuditAction.DENIED, invocation.getMethod(), AccountIds.find(invocation.getArguments()));
+            throw e;
+        }
+        Outcome outcome = result == MaskAuthorizationDeniedHandler.MASK ? Outcome.MASKED : Outcome.GRANTED;
+        metrics.get().recordPreAuthorize(invocation.getMethod(), outcome, start);
+        return result;
+    }
+
+    @Override
+    public Pointcut getPointcut() {
+        return delegate.getPointcut();
+    }
+
+    @Override
+    public Advice getAdvice() {
+        return this;
+    }
+
+    @Override
+    public boolean isPerInstance() {
+        return delegate.isPerInstance();
+    }
+
+    @Override
+    public int getOrder() {
+        return delegate.getOrder();
+    }
+
+    static Authentication getAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContextHolderStrategy().getContext().getAuthentication();
+        if (authentication == null) {
+            throw new AuthenticationCredentialsNotFoundException("An Authentication object was not found in the SecurityContext");
+        }
+        return authentication;
+    }
+}
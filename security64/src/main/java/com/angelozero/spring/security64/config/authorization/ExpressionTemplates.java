@@ -0,0 +1,39 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+import org.springframework.util.PropertyPlaceholderHelper;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+final class ExpressionTemplates {
+
+    private static final PropertyPlaceholderHelper PLACEHOLDERS = new PropertyPlaceholderHelper("{", "}", null, false);
+
+    private ExpressionTemplates() {
+    }
+
+    // resolves the "value" of an authorization annotation, replacing {attribute} placeholders with the attributes
+    // of the meta-annotated annotation the same way PrePostTemplateDefaults does
+    static String resolve(Method method, Class<? extends Annotation> type) {
+        MergedAnnotation<? extends Annotation> annotation = MergedAnnotations.from(method, SearchStrategy.TYPE_HIERARCHY).get(type);
+        if (!annotation.isPresent()) {
+            return null;
+        }
+
+        String expression = annotation.getString("value");
+        MergedAnnotation<?> template = annotation.getMetaSource();
+        if (template == null) {
+            return expression;
+        }
+
+        Map<String, Object> attributes = template.asMap();
+        return PLACEHOLDERS.replacePlaceholders(expression, (name) -> {
+            Object value = attributes.get(name);
+            return value == null ? null : value.toString();
+        });
+    }
+}
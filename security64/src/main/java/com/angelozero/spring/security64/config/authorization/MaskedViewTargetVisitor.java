@@ -0,0 +1,80 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.audit.AuditAction;
+import com.angelozero.spring.security64.audit.AuditTrail;
+import com.angelozero.spring.security64.config.authorization.AuthorizationMetrics.Outcome;
+import com.angelozero.spring.security64.config.handler.MaskAuthorizationDeniedHandler;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.angelozero.spring.security64.zzz.BankAccountData;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.method.AuthorizationAdvisorProxyFactory;
+import org.springframework.security.authorization.method.AuthorizationAdvisorProxyFactory.TargetVisitor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+/**
+ * Replaces the {@code @AuthorizeReturnObject} proxy of {@link BankAccount} and {@link BankAccountData} by a
+ * pre-masked {@link BankAccountViews view}. Fails on creation if the field rule no longer matches the view.
+ * Masking a view is the field rule's decision, so it is recorded against the getter like a proxied call would be.
+ */
+public class MaskedViewTargetVisitor implements TargetVisitor {
+
+    static final String OWNER_RULE = "this.owner == authentication?.name";
+
+    private final Supplier<AuthorizationMetrics> metrics;
+    private final Supplier<AuditTrail> auditTrail;
+    private final Method bankAccountGetter;
+    private final Method bankAccountDataGetter;
+
+    public MaskedViewTargetVisitor() {
+        this(() -> null, () -> null);
+    }
+
+    public MaskedViewTargetVisitor(Supplier<AuthorizationMetrics> metrics, Supplier<AuditTrail> auditTrail) {
+        this.metrics = metrics;
+        this.auditTrail = auditTrail;
+        this.bankAccountGetter = ownerRuleGetter(BankAccount.class);
+        this.bankAccountDataGetter = ownerRuleGetter(BankAccountData.class);
+    }
+
+    @Override
+    public Object visit(AuthorizationAdvisorProxyFactory proxyFactory, Object target) {
+        if (target instanceof BankAccount account) {
+            long start = System.nanoTime();
+            BankAccount view = BankAccountViews.of(account, SecurityContextHolder.getContextHolderStrategy().getContext().getAuthentication());
+            record(bankAccountGetter, view.getId(), view.getAccountNumber(), start);
+            return view;
+        }
+        if (target instanceof BankAccountData account) {
+            long start = System.nanoTime();
+            BankAccountData view = BankAccountViews.of(account, SecurityContextHolder.getContextHolderStrategy().getContext().getAuthentication());
+            record(bankAccountDataGetter, view.getId(), view.getAccountNumber(), start);
+            return view;
+        }
+        return null;
+    }
+
+    private void record(Method getter, Integer accountId, String accountNumber, long start) {
+        boolean masked = accountNumber == MaskAuthorizationDeniedHandler.MASK;
+        AuthorizationMetrics authorizationMetrics = metrics.get();
+        if (authorizationMetrics != null) {
+            authorizationMetrics.recordPreAuthorize(getter, masked ? Outcome.MASKED : Outcome.GRANTED, start);
+        }
+        AuditTrail trail = auditTrail.get();
+        if (masked && trail != null) {
+            trail.record(AuditAction.MASKED, getter, AuditTrail.accountId(accountId));
+        }
+    }
+
+    private static Method ownerRuleGetter(Class<?> type) {
+        Method getter = ReflectionUtils.findMethod(type, "getAccountNumber");
+        String rule = getter == null ? null : ExpressionTemplates.resolve(getter, PreAuthorize.class);
+        if (!OWNER_RULE.equals(rule)) {
+            throw new IllegalStateException(STR."Cannot build a masked view for \{type.getName()}, the rule is '\{rule}'");
+        }
+        return getter;
+    }
+}
@@ -0,0 +1,55 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.audit.AuditTrail;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.security.authorization.method.AuthorizationAdvisor;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Priority ordered so it is registered before the auto proxy creator starts instantiating the method
+ * security advisors.
+ */
+public class MethodSecurityFastPathPostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+    static final String PRE_AUTHORIZE_INTERCEPTOR = "preAuthorizeAuthorizationMethodInterceptor";
+    static final String POST_AUTHORIZE_INTERCEPTOR = "postAuthorizeAuthorizationMethodInterceptor";
+    static final String PRE_FILTER_INTERCEPTOR = "preFilterAuthorizationMethodInterceptor";
+
+    private final SingletonSupplier<OwnershipAuthorizationManager> ownershipAuthorizationManager;
+    private final SingletonSupplier<AuthorizationExpressionRegistry> expressionRegistry;
+    private final SingletonSupplier<AuthorizationMetrics> metrics;
+    private final SingletonSupplier<AuditTrail> auditTrail;
+
+    public MethodSecurityFastPathPostProcessor(ObjectProvider<OwnershipAuthorizationManager> ownershipAuthorizationManager,
+                                               ObjectProvider<AuthorizationExpressionRegistry> expressionRegistry,
+                                               ObjectProvider<AuthorizationMetrics> metrics,
+                                               ObjectProvider<AuditTrail> auditTrail) {
+        this.ownershipAuthorizationManager = SingletonSupplier.of(ownershipAuthorizationManager::getObject);
+        this.expressionRegistry = SingletonSupplier.of(expressionRegistry::getObject);
+        this.metrics = SingletonSupplier.of(metrics::getObject);
+        this.auditTrail = SingletonSupplier.of(auditTrail::getObject);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof AuthorizationAdvisor advisor) {
+            if (PRE_AUTHORIZE_INTERCEPTOR.equals(beanName)) {
+                return new CompiledPreAuthorizeMethodInterceptor(advisor, ownershipAuthorizationManager, expressionRegistry, metrics, auditTrail);
+            }
+            if (POST_AUTHORIZE_INTERCEPTOR.equals(beanName)) {
+                return new CompiledPostAuthorizeMethodInterceptor(advisor, expressionRegistry, metrics, auditTrail);
+            }
+            if (PRE_FILTER_INTERCEPTOR.equals(beanName)) {
+                return new CompiledPreFilterMethodInterceptor(advisor, ownershipAuthorizationManager, auditTrail);
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+}
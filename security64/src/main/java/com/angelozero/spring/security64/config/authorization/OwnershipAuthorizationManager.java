@@ -0,0 +1,164 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.Security64Application;
+import com.angelozero.spring.security64.gateway.annotation.PreCheckBankAccountOwner;
+import com.angelozero.spring.security64.gateway.annotation.PreFilterBankAccountOwner;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.angelozero.spring.security64.zzz.BankAccountData;
+import com.angelozero.spring.security64.zzz.PreWriteBankAccount;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.access.prepost.PreFilter;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.method.HandleAuthorizationDenied;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves {@link PreCheckBankAccountOwner} and {@link PreWriteBankAccount} once at startup into an
+ * {@link OwnershipCheck}, so those methods never reach the SpEL interpreter. Methods without a compiled
+ * check abstain ({@code null}) and are left to the regular {@code @PreAuthorize} manager.
+ * {@link PreFilterBankAccountOwner} is compiled the same way, into a check applied to every element of the
+ * filtered collection.
+ */
+@Component
+public class OwnershipAuthorizationManager implements AuthorizationManager<MethodInvocation>, SmartInitializingSingleton {
+
+    private static final Pattern OWNERSHIP_EXPRESSION = Pattern.compile("^#(\\w+)\\?\\.owner == authentication\\?\\.name$");
+    private static final String OWNERSHIP_FILTER = "filterObject?.owner == authentication?.name";
+
+    private static final Map<Class<?>, Function<Object, String>> OWNER_ACCESSORS = Map.of(
+            BankAccount.class, (target) -> ((BankAccount) target).getOwner(),
+            BankAccountData.class, (target) -> ((BankAccountData) target).getOwner());
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<Method, OwnershipCheck> checks = new ConcurrentHashMap<>();
+    private final Map<Method, OwnershipCheck> filters = new ConcurrentHashMap<>();
+    private final ApplicationContext applicationContext;
+
+    public OwnershipAuthorizationManager(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String basePackage = Security64Application.class.getPackageName();
+        for (String beanName : applicationContext.getBeanDefinitionNames()) {
+            Class<?> beanType = applicationContext.getType(beanName, false);
+            if (beanType != null && beanType.getName().startsWith(basePackage)) {
+                register(ClassUtils.getUserClass(beanType));
+            }
+        }
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        OwnershipCheck check = checks.get(invocation.getMethod());
+        if (check == null) {
+            return null;
+        }
+        return check.isOwner(authentication.get(), invocation.getArguments()) ? GRANTED : DENIED;
+    }
+
+    public boolean isCompiled(Method method) {
+        return checks.containsKey(method);
+    }
+
+    public OwnershipCheck filter(Method method) {
+        return filters.get(method);
+    }
+
+    public void register(Class<?> type) {
+        ReflectionUtils.doWithMethods(type, this::compile, ReflectionUtils.USER_DECLARED_METHODS);
+        for (Class<?> anInterface : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+            Arrays.stream(anInterface.getMethods()).forEach(this::compile);
+        }
+    }
+
+    private void compile(Method method) {
+        compileFilter(method);
+        String expression = resolveExpression(method);
+        if (expression == null || checks.containsKey(method)
+                || AnnotationUtils.findAnnotation(method, HandleAuthorizationDenied.class) != null) {
+            return;
+        }
+
+        Matcher matcher = OWNERSHIP_EXPRESSION.matcher(expression);
+        if (!matcher.matches()) {
+            throw new IllegalStateException(STR."Cannot compile ownership expression '\{expression}' on \{method}");
+        }
+
+        int parameterIndex = indexOf(matcher.group(1), method);
+        Class<?> parameterType = method.getParameterTypes()[parameterIndex];
+        Function<Object, String> ownerAccessor = OWNER_ACCESSORS.get(parameterType);
+        if (ownerAccessor == null) {
+            throw new IllegalStateException(STR."No owner accessor for \{parameterType.getName()} on \{method}");
+        }
+
+        checks.put(method, new OwnershipCheck(parameterIndex, ownerAccessor));
+    }
+
+    private void compileFilter(Method method) {
+        if (AnnotationUtils.findAnnotation(method, PreFilterBankAccountOwner.class) == null || filters.containsKey(method)) {
+            return;
+        }
+
+        PreFilter preFilter = AnnotatedElementUtils.findMergedAnnotation(method, PreFilter.class);
+        if (!OWNERSHIP_FILTER.equals(preFilter.value())) {
+            throw new IllegalStateException(STR."Cannot compile ownership filter '\{preFilter.value()}' on \{method}");
+        }
+
+        int parameterIndex = preFilter.filterTarget().isEmpty() && method.getParameterCount() == 1
+                ? 0 : indexOf(preFilter.filterTarget(), method);
+        ResolvableType parameterType = ResolvableType.forMethodParameter(method, parameterIndex);
+        Class<?> elementType = parameterType.asCollection().resolveGeneric(0);
+        Function<Object, String> ownerAccessor = elementType == null ? null : OWNER_ACCESSORS.get(elementType);
+        if (ownerAccessor == null) {
+            throw new IllegalStateException(STR."No owner accessor for the elements of \{parameterType} on \{method}");
+        }
+
+        filters.put(method, new OwnershipCheck(parameterIndex, ownerAccessor));
+    }
+
+    private int indexOf(String parameterName, Method method) {
+        String[] parameterNames = parameterNameDiscoverer.getParameterNames(method);
+        if (parameterNames != null) {
+            for (int i = 0; i < parameterNames.length; i++) {
+                if (parameterNames[i].equals(parameterName)) {
+                    return i;
+                }
+            }
+        }
+        throw new IllegalStateException(STR."Unknown parameter '#\{parameterName}' on \{method}");
+    }
+
+    private static String resolveExpression(Method method) {
+        if (AnnotationUtils.findAnnotation(method, PreCheckBankAccountOwner.class) == null
+                && AnnotationUtils.findAnnotation(method, PreWriteBankAccount.class) == null) {
+            return null;
+        }
+        return ExpressionTemplates.resolve(method, PreAuthorize.class);
+    }
+}
@@ -0,0 +1,19 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import org.springframework.security.core.Authentication;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+public record OwnershipCheck(int parameterIndex, Function<Object, String> ownerAccessor) {
+
+    // same semantics as "#param?.owner == authentication?.name", null == null included
+    public boolean isOwner(Authentication authentication, Object[] arguments) {
+        return isOwnedBy(authentication == null ? null : authentication.getName(), arguments[parameterIndex]);
+    }
+
+    public boolean isOwnedBy(String name, Object target) {
+        String owner = target == null ? null : ownerAccessor.apply(target);
+        return Objects.equals(owner, name);
+    }
+}
@@ -0,0 +1,43 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.config.authorization.AuthorizationExpressionRegistry.Expressions;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Evaluates the parsed {@code @PreAuthorize} and {@code @PostAuthorize} rules of a gateway method against a result
+ * the caller already holds, without invoking the method, so a cached copy of that result can be served exactly where
+ * the call would have been granted. Nothing is audited or timed here: a {@code false} (also returned for methods
+ * without a parsed {@code @PostAuthorize}) means "call the gateway", which then denies the regular way.
+ */
+@Component
+public class PostAuthorizePrecheck {
+
+    private final AuthorizationExpressionRegistry expressionRegistry;
+
+    public PostAuthorizePrecheck(AuthorizationExpressionRegistry expressionRegistry) {
+        this.expressionRegistry = expressionRegistry;
+    }
+
+    public boolean isGranted(Object gateway, Method method, Object result, Object... arguments) {
+        Expressions expressions = expressionRegistry.expressions(method);
+        if (expressions == null || expressions.postAuthorize() == null) {
+            return false;
+        }
+        MethodSecurityExpressionHandler expressionHandler = expressionRegistry.getExpressionHandler();
+        EvaluationContext context = expressionHandler.createEvaluationContext(CompiledPreAuthorizeMethodInterceptor::getAuthentication,
+                new SimpleMethodInvocation(gateway, method, arguments));
+        Expression preAuthorize = expressions.preAuthorize();
+        if (preAuthorize != null && !ExpressionUtils.evaluateAsBoolean(preAuthorize, context)) {
+            return false;
+        }
+        expressionHandler.setReturnObject(result, context);
+        return ExpressionUtils.evaluateAsBoolean(expressions.postAuthorize(), context);
+    }
+}
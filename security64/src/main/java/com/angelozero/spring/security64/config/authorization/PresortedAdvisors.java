@@ -0,0 +1,37 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.security.authorization.method.AuthorizationAdvisor;
+import org.springframework.security.authorization.method.AuthorizationAdvisorProxyFactory;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * {@link AuthorizationAdvisorProxyFactory#proxy(Object)} sorts its advisor list in place on every call, so two
+ * threads proxying return objects at once fail with a {@code ConcurrentModificationException}. Swapping in this
+ * list, sorted once and ignoring later sorts, makes the factory safe to share once its advisors are set.
+ */
+final class PresortedAdvisors extends ArrayList<AuthorizationAdvisor> {
+
+    private static final Field ADVISORS = ReflectionUtils.findField(AuthorizationAdvisorProxyFactory.class, "advisors");
+
+    private PresortedAdvisors(AuthorizationAdvisorProxyFactory proxyFactory) {
+        proxyFactory.forEach(this::add);
+        super.sort(AnnotationAwareOrderComparator.INSTANCE);
+    }
+
+    static void install(AuthorizationAdvisorProxyFactory proxyFactory) {
+        if (ADVISORS == null) {
+            throw new IllegalStateException("AuthorizationAdvisorProxyFactory no longer keeps its advisors in 'advisors'");
+        }
+        ReflectionUtils.makeAccessible(ADVISORS);
+        ReflectionUtils.setField(ADVISORS, proxyFactory, new PresortedAdvisors(proxyFactory));
+    }
+
+    @Override
+    public void sort(Comparator<? super AuthorizationAdvisor> comparator) {
+    }
+}
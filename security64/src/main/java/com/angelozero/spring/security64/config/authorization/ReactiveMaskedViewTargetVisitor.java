@@ -0,0 +1,47 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.angelozero.spring.security64.zzz.BankAccountData;
+import org.springframework.security.authorization.method.AuthorizationAdvisorProxyFactory;
+import org.springframework.security.authorization.method.AuthorizationAdvisorProxyFactory.TargetVisitor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Reactive counterpart of {@link MaskedViewTargetVisitor}. Proxied getters cannot be secured reactively, so the
+ * bank accounts emitted by a {@link Mono} or {@link Flux} are always turned into {@link BankAccountViews views},
+ * reading the authentication once per publisher from the subscriber's context.
+ */
+public class ReactiveMaskedViewTargetVisitor extends MaskedViewTargetVisitor {
+
+    @Override
+    public Object visit(AuthorizationAdvisorProxyFactory proxyFactory, Object target) {
+        if (target instanceof Mono<?> mono) {
+            return authentication().flatMap((authentication) -> mono.map((value) -> view(proxyFactory, value, authentication.orElse(null))));
+        }
+        if (target instanceof Flux<?> flux) {
+            return authentication().flatMapMany((authentication) -> flux.map((value) -> view(proxyFactory, value, authentication.orElse(null))));
+        }
+        return null;
+    }
+
+    private static Mono<Optional<Authentication>> authentication() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map((context) -> Optional.ofNullable(context.getAuthentication()))
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private static Object view(AuthorizationAdvisorProxyFactory proxyFactory, Object value, Authentication authentication) {
+        if (value instanceof BankAccount account) {
+            return BankAccountViews.of(account, authentication);
+        }
+        if (value instanceof BankAccountData account) {
+            return BankAccountViews.of(account, authentication);
+        }
+        return proxyFactory.proxy(value);
+    }
+}
@@ -0,0 +1,78 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.angelozero.spring.security64.zzz.BankAccountData;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decisions already taken during the current request, keyed by (principal, method, target, owner). Principal and
+ * target are compared by identity: the targets are secured proxies, whose Lombok {@code equals}/{@code hashCode} would
+ * call the very getters being decided. The field rules read the owner, and an account can change hands within a
+ * request, so the owner read at decision time is part of the key. Outside of a request, e.g. on a streaming response
+ * thread, nothing is memoized.
+ */
+public final class RequestDecisionMemo {
+
+    private static final String ATTRIBUTE = RequestDecisionMemo.class.getName();
+
+    private RequestDecisionMemo() {
+    }
+
+    public static Boolean get(Authentication authentication, Method method, Object target) {
+        Map<Key, Boolean> decisions = decisions(false);
+        return decisions == null ? null : decisions.get(new Key(authentication, method, target, ownerOf(target)));
+    }
+
+    public static void put(Authentication authentication, Method method, Object target, boolean granted) {
+        Map<Key, Boolean> decisions = decisions(true);
+        if (decisions != null) {
+            decisions.put(new Key(authentication, method, target, ownerOf(target)), granted);
+        }
+    }
+
+    private static String ownerOf(Object target) {
+        if (target instanceof BankAccount account) {
+            return account.getOwner();
+        }
+        if (target instanceof BankAccountData account) {
+            return account.getOwner();
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Key, Boolean> decisions(boolean create) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<Key, Boolean> decisions = (Map<Key, Boolean>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (decisions == null && create) {
+            decisions = new ConcurrentHashMap<>();
+            attributes.setAttribute(ATTRIBUTE, decisions, RequestAttributes.SCOPE_REQUEST);
+        }
+        return decisions;
+    }
+
+    private record Key(Authentication authentication, Method method, Object target, String owner) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && authentication == key.authentication && target == key.target
+                    && method.equals(key.method) && Objects.equals(owner, key.owner);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 31 * (31 * System.identityHashCode(authentication) + method.hashCode()) + System.identityHashCode(target);
+            return 31 * hash + Objects.hashCode(owner);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.angelozero.spring.security64.config.component;
+
+import com.angelozero.spring.security64.entrypoint.BankAccountResponses;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.angelozero.spring.security64.zzz.BankAccountData;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class AccountCaching {
+
+    @Bean
+    Cache<Integer, BankAccount> bankAccountCache(@Value("${security64.account-store.cache.max-size:10000}") long maxSize,
+                                                 @Value("${security64.account-store.cache.ttl:5m}") Duration ttl) {
+        return build(maxSize, ttl);
+    }
+
+    @Bean
+    Cache<Integer, BankAccountData> bankAccountDataCache(@Value("${security64.account-store.cache.max-size:10000}") long maxSize,
+                                                         @Value("${security64.account-store.cache.ttl:5m}") Duration ttl) {
+        return build(maxSize, ttl);
+    }
+
+    // keyed by version, an entry is never stale: a save makes it unreachable and the size bound evicts it
+    @Bean
+    Cache<BankAccountResponses.Key, byte[]> bankAccountResponseCache(@Value("${security64.response-cache.max-size:10000}") long maxSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    @Bean
+    MeterBinder bankAccountCacheMetrics(Cache<Integer, BankAccount> bankAccountCache,
+                                        Cache<Integer, BankAccountData> bankAccountDataCache,
+                                        Cache<BankAccountResponses.Key, byte[]> bankAccountResponseCache) {
+        return (registry) -> {
+            CaffeineCacheMetrics.monitor(registry, bankAccountCache, "bankAccounts");
+            CaffeineCacheMetrics.monitor(registry, bankAccountDataCache, "bankAccountData");
+            CaffeineCacheMetrics.monitor(registry, bankAccountResponseCache, "bankAccountResponses");
+        };
+    }
+
+    // Caffeine's size bound is W-TinyLFU: an entry only displaces another if it is used more often
+    private static <V> Cache<Integer, V> build(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.angelozero.spring.security64.config.component;
+
+import com.angelozero.spring.security64.store.AccountStore;
+import com.angelozero.spring.security64.store.CachingAccountStore;
+import com.angelozero.spring.security64.store.EmbeddedAccountStore;
+import com.angelozero.spring.security64.store.MappedAccountStore;
+import com.angelozero.spring.security64.store.OwnerIndexedAccountStore;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class AccountStorage {
+
+    @Bean
+    @ConditionalOnProperty(name = "security64.account-store.type", havingValue = "embedded", matchIfMissing = true)
+    AccountStore accountStore(Cache<Integer, BankAccount> bankAccountCache) {
+        return new CachingAccountStore(new OwnerIndexedAccountStore(withSampleAccounts(new EmbeddedAccountStore())), bankAccountCache);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security64.account-store.type", havingValue = "mapped")
+    AccountStore mappedAccountStore(@Value("${security64.account-store.mapped.directory:data/accounts}") Path directory,
+                                    @Value("${security64.account-store.mapped.records-per-segment:524288}") int recordsPerSegment,
+                                    @Value("${security64.account-store.mapped.flush-interval:10ms}") Duration flushInterval,
+                                    @Value("${security64.account-store.mapped.await-sync:false}") boolean awaitSync,
+                                    Cache<Integer, BankAccount> bankAccountCache) {
+        MappedAccountStore accountStore = new MappedAccountStore(directory, recordsPerSegment, flushInterval, awaitSync);
+        return new CachingAccountStore(new OwnerIndexedAccountStore(accountStore.size() == 0 ? withSampleAccounts(accountStore) : accountStore),
+                bankAccountCache);
+    }
+
+    public static AccountStore withSampleAccounts(AccountStore accountStore) {
+        accountStore.save(new BankAccount(1, "angelo", "123", 543));
+        accountStore.save(new BankAccount(2, "jake", "456", 987));
+        return accountStore;
+    }
+}
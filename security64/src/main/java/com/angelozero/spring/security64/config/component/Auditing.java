@@ -0,0 +1,39 @@
+package com.angelozero.spring.security64.config.component;
+
+import com.angelozero.spring.security64.audit.AuditFileWriter;
+import com.angelozero.spring.security64.audit.AuditTrail;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class Auditing {
+
+    // lossy when full: an event that finds the ring a whole lap ahead of the writer is dropped, counted and logged
+    @Bean
+    AuditTrail auditTrail(@Value("${security64.audit.capacity:65536}") int capacity) {
+        return new AuditTrail(capacity);
+    }
+
+    @Bean
+    AuditFileWriter auditFileWriter(AuditTrail auditTrail,
+                                    @Value("${security64.audit.directory:data/audit}") Path directory,
+                                    @Value("${security64.audit.max-file-size:64MB}") DataSize maxFileSize,
+                                    @Value("${security64.audit.max-files:10}") int maxFiles,
+                                    @Value("${security64.audit.poll-interval:50ms}") Duration pollInterval) {
+        return new AuditFileWriter(auditTrail, directory, maxFileSize.toBytes(), maxFiles, pollInterval);
+    }
+
+    @Bean
+    MeterBinder auditTrailMetrics(AuditTrail auditTrail) {
+        return (registry) -> FunctionCounter.builder("security64.audit.dropped", auditTrail, AuditTrail::getDropped)
+                .description("Audit events dropped because the writer was a whole ring behind")
+                .register(registry);
+    }
+}
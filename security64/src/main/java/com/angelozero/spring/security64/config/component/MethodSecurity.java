@@ -0,0 +1,109 @@
+package com.angelozero.spring.security64.config.component;
+
+import com.angelozero.spring.security64.audit.AuditTrail;
+import com.angelozero.spring.security64.config.authorization.AuthorityBits;
+import com.angelozero.spring.security64.config.authorization.AuthorityBitsMethodSecurityExpressionHandler;
+import com.angelozero.spring.security64.config.authorization.AuthorizationExpressionRegistry;
+import com.angelozero.spring.security64.config.authorization.AuthorizationMetrics;
+import com.angelozero.spring.security64.config.authorization.AuthorizationProxyFactoryPostProcessor;
+import com.angelozero.spring.security64.config.authorization.MaskedViewTargetVisitor;
+import com.angelozero.spring.security64.config.authorization.MethodSecurityFastPathPostProcessor;
+import com.angelozero.spring.security64.config.authorization.OwnershipAuthorizationManager;
+import com.angelozero.spring.security64.jfr.GatewayCallInterceptor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authorization.method.AuthorizationAdvisorProxyFactory;
+import org.springframework.security.authorization.method.AuthorizationAdvisorProxyFactory.TargetVisitor;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.util.function.SingletonSupplier;
+
+@Configuration
+@Profile("!reactive")
+@EnableMethodSecurity
+public class MethodSecurity {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static RoleHierarchy roleHierarchy(@Value("${security64.authorization.role-hierarchy:}") String hierarchy) {
+        return RoleHierarchyImpl.fromHierarchy(hierarchy);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static AuthorityBits authorityBits(RoleHierarchy roleHierarchy) {
+        return new AuthorityBits(roleHierarchy, "ROLE_");
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(ApplicationContext applicationContext,
+                                                                           AuthorityBits authorityBits) {
+        AuthorityBitsMethodSecurityExpressionHandler expressionHandler = new AuthorityBitsMethodSecurityExpressionHandler(authorityBits);
+        expressionHandler.setApplicationContext(applicationContext);
+        return expressionHandler;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static MethodSecurityFastPathPostProcessor methodSecurityFastPathPostProcessor(
+            ObjectProvider<OwnershipAuthorizationManager> ownershipAuthorizationManager,
+            ObjectProvider<AuthorizationExpressionRegistry> expressionRegistry,
+            ObjectProvider<AuthorizationMetrics> metrics,
+            ObjectProvider<AuditTrail> auditTrail) {
+        return new MethodSecurityFastPathPostProcessor(ownershipAuthorizationManager, expressionRegistry, metrics, auditTrail);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static AuthorizationProxyFactoryPostProcessor authorizationProxyFactoryPostProcessor() {
+        return new AuthorizationProxyFactoryPostProcessor();
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    @ConditionalOnProperty(name = "security64.authorization.return-object", havingValue = "view")
+    static Customizer<AuthorizationAdvisorProxyFactory> maskedViewReturnObjects(ObjectProvider<AuthorizationMetrics> metrics,
+                                                                                ObjectProvider<AuditTrail> auditTrail) {
+        MaskedViewTargetVisitor maskedViews = new MaskedViewTargetVisitor(
+                SingletonSupplier.of(metrics::getObject), SingletonSupplier.of(auditTrail::getObject));
+        return (proxyFactory) -> proxyFactory.setTargetVisitor(TargetVisitor.of(maskedViews, TargetVisitor.defaults()));
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor gatewayCallEvents() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(GatewayCallInterceptor.POINTCUT, new GatewayCallInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    MeterBinder authorizationExpressionRegistryMetrics(AuthorizationExpressionRegistry expressionRegistry) {
+        return (registry) -> {
+            FunctionCounter.builder("security64.authorization.expressions.lookups", expressionRegistry, AuthorizationExpressionRegistry::getHits)
+                    .tag("result", "hit")
+                    .description("Method security calls decided with expressions parsed at startup")
+                    .register(registry);
+            FunctionCounter.builder("security64.authorization.expressions.lookups", expressionRegistry, AuthorizationExpressionRegistry::getMisses)
+                    .tag("result", "miss")
+                    .description("Method security calls handed to Spring Security because no expression was parsed for them")
+                    .register(registry);
+        };
+    }
+}
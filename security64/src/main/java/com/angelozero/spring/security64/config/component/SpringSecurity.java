@@ -1,23 +1,131 @@
 package com.angelozero.spring.security64.config.component;
 
+import com.angelozero.spring.security64.config.authentication.CacheInvalidatingUserDetailsManager;
+import com.angelozero.spring.security64.config.authentication.CachingAuthenticationProvider;
+import com.angelozero.spring.security64.config.authentication.CredentialCache;
+import com.angelozero.spring.security64.config.authentication.FileUserDetailsService;
+import com.angelozero.spring.security64.config.authentication.SignedTokenAuthenticationFilter;
+import com.angelozero.spring.security64.config.authentication.SignedTokenProperties;
+import com.angelozero.spring.security64.config.authentication.SignedTokenService;
+import com.angelozero.spring.security64.config.ratelimit.RateLimitEndpoint;
+import com.angelozero.spring.security64.config.ratelimit.RateLimitFilter;
+import com.angelozero.spring.security64.config.ratelimit.RateLimitProperties;
+import com.angelozero.spring.security64.config.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.authorization.method.PrePostTemplateDefaults;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.springframework.security.config.Customizer.withDefaults;
 
 @Configuration
+@EnableConfigurationProperties({SignedTokenProperties.class, RateLimitProperties.class})
 public class SpringSecurity {
 
+    @Bean
+    @Profile("!reactive")
+    SecurityFilterChain securityFilterChain(HttpSecurity http, ObjectProvider<SignedTokenService> signedTokenService,
+                                            ObjectProvider<RateLimiter> rateLimiter) throws Exception {
+        // the error page of a denied request is rendered by an ERROR dispatch that bearer tokens are not checked on
+        http.authorizeHttpRequests((requests) -> requests.dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
+                        .requestMatchers(EndpointRequest.to(RateLimitEndpoint.class)).hasRole("MASTER")
+                        .anyRequest().authenticated())
+                .formLogin(withDefaults())
+                .httpBasic(withDefaults());
+
+        AntPathRequestMatcher bankAccountRequests = new AntPathRequestMatcher("/api/v1/bank-account/**");
+        SignedTokenService tokenService = signedTokenService.getIfAvailable();
+        if (tokenService != null) {
+            RequestMatcher tokenRequests = new OrRequestMatcher(bankAccountRequests, EndpointRequest.to(RateLimitEndpoint.class));
+            http.addFilterBefore(new SignedTokenAuthenticationFilter(tokenService, tokenRequests), BasicAuthenticationFilter.class)
+                    .csrf((csrf) -> csrf.ignoringRequestMatchers(SignedTokenAuthenticationFilter.BEARER_REQUESTS)
+                            .ignoringRequestMatchers("/api/v1/auth/token"));
+        }
+
+        RateLimiter limiter = rateLimiter.getIfAvailable();
+        if (limiter != null) {
+            http.addFilterAfter(new RateLimitFilter(limiter, bankAccountRequests), AnonymousAuthenticationFilter.class);
+        }
+        return http.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security64.rate-limit.enabled", havingValue = "true")
+    RateLimiter rateLimiter(RateLimitProperties rateLimitProperties, MeterRegistry meterRegistry) {
+        return new RateLimiter(rateLimitProperties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security64.rate-limit.enabled", havingValue = "true")
+    RateLimitEndpoint rateLimitEndpoint(RateLimiter rateLimiter) {
+        return new RateLimitEndpoint(rateLimiter);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security64.authentication.token.enabled", havingValue = "true")
+    SignedTokenService signedTokenService(SignedTokenProperties signedTokenProperties) {
+        return new SignedTokenService(signedTokenProperties, Clock.systemUTC());
+    }
+
     @Bean
     PrePostTemplateDefaults prePostTemplateDefaults() {
         return new PrePostTemplateDefaults();
     }
 
     @Bean
-    UserDetailsService userDetailsService() {
+    CredentialCache credentialCache(@Value("${security64.authentication.cache.ttl:5m}") Duration ttl,
+                                    @Value("${security64.authentication.cache.max-size:10000}") int maxSize) {
+        return new CredentialCache(ttl, maxSize);
+    }
+
+    @Bean
+    AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, CredentialCache credentialCache) {
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setUserDetailsService(userDetailsService);
+        if (userDetailsService instanceof UserDetailsPasswordService userDetailsPasswordService) {
+            authenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+        }
+        // file users are shared instances holding their hash, they must not become the principal
+        authenticationProvider.setForcePrincipalAsString(userDetailsService instanceof FileUserDetailsService);
+        return new CachingAuthenticationProvider(authenticationProvider, credentialCache);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security64.users.type", havingValue = "file")
+    UserDetailsService fileUserDetailsService(@Value("${security64.users.file.path:data/users.properties}") Path file,
+                                              @Value("${security64.users.file.reload-interval:10s}") Duration reloadInterval,
+                                              CredentialCache credentialCache) {
+        return new FileUserDetailsService(file, reloadInterval, credentialCache::invalidate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security64.users.type", havingValue = "memory", matchIfMissing = true)
+    UserDetailsService userDetailsService(CredentialCache credentialCache) {
         UserDetails angelo = User.builder()
                 .username("angelo")
                 .password("{noop}password-123")
@@ -36,6 +144,6 @@ public class SpringSecurity {
                 .roles("UP")
                 .build();
 
-        return new InMemoryUserDetailsManager(angelo, jake, dumb);
+        return new CacheInvalidatingUserDetailsManager(new InMemoryUserDetailsManager(angelo, jake, dumb), credentialCache);
     }
 }
@@ -0,0 +1,16 @@
+package com.angelozero.spring.security64.config.component;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+@Configuration
+public class TaskExecution {
+
+    // applied by Boot to applicationTaskExecutor (virtual threads or pool), so tasks run as the submitting user
+    @Bean
+    TaskDecorator securityContextTaskDecorator() {
+        return DelegatingSecurityContextRunnable::new;
+    }
+}
@@ -1,6 +1,12 @@
 package com.angelozero.spring.security64.config.handler;
 
+import com.angelozero.spring.security64.audit.AuditAction;
+import com.angelozero.spring.security64.audit.AuditTrail;
+import com.angelozero.spring.security64.config.authorization.AccountIds;
+import com.angelozero.spring.security64.jfr.JfrEvents;
+import com.angelozero.spring.security64.jfr.MaskedAccessEvent;
 import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.authorization.method.MethodAuthorizationDeniedHandler;
 import org.springframework.stereotype.Component;
@@ -8,8 +14,34 @@ import org.springframework.stereotype.Component;
 @Component
 public class MaskAuthorizationDeniedHandler implements MethodAuthorizationDeniedHandler {
 
+    public static final String MASK = "****";
+
+    private final AuditTrail auditTrail;
+
+    // used when the handler class is instantiated outside of the application context
+    public MaskAuthorizationDeniedHandler() {
+        this(null);
+    }
+
+    @Autowired
+    public MaskAuthorizationDeniedHandler(AuditTrail auditTrail) {
+        this.auditTrail = auditTrail;
+    }
+
     @Override
     public Object handleDeniedInvocation(MethodInvocation methodInvocation, AuthorizationResult authorizationResult) {
-        return "****";
+        MaskedAccessEvent event = new MaskedAccessEvent();
+        event.begin();
+        if (auditTrail != null) {
+            auditTrail.record(AuditAction.MASKED, methodInvocation.getMethod(), AccountIds.of(methodInvocation.getThis()));
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = JfrEvents.nameOf(methodInvocation.getMethod());
+            event.outcome = "masked";
+            event.principalHash = JfrEvents.principalHash();
+            event.commit();
+        }
+        return MASK;
     }
 }
@@ -0,0 +1,41 @@
+package com.angelozero.spring.security64.config.ratelimit;
+
+import com.angelozero.spring.security64.config.ratelimit.RateLimitProperties.Limit;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/ratelimit}: the limits by tier; {@code POST /actuator/ratelimit/{tier}} with {@code rate} and
+ * {@code burst} sets one, {@code DELETE} removes it. Changes apply to the next request and are not persisted.
+ */
+@Endpoint(id = "ratelimit")
+public class RateLimitEndpoint {
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitEndpoint(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @ReadOperation
+    public Map<String, Limit> limits() {
+        return rateLimiter.limits();
+    }
+
+    @WriteOperation
+    public Map<String, Limit> setLimit(@Selector String tier, double rate, int burst) {
+        rateLimiter.setLimit(tier, new Limit(rate, burst));
+        return rateLimiter.limits();
+    }
+
+    @DeleteOperation
+    public Map<String, Limit> removeLimit(@Selector String tier) {
+        rateLimiter.removeLimit(tier);
+        return rateLimiter.limits();
+    }
+}
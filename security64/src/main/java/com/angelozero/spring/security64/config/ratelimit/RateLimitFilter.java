@@ -0,0 +1,56 @@
+package com.angelozero.spring.security64.config.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Placed after the authentication filters: an authenticated request over its principal's rate limit is answered
+ * with an empty 429 and a {@code Retry-After} right away, without an error dispatch and before any controller or
+ * gateway runs. Unauthenticated requests pass through, they are rejected further down the chain.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+    private final RateLimiter rateLimiter;
+    private final RequestMatcher requestMatcher;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RequestMatcher requestMatcher) {
+        this.rateLimiter = rateLimiter;
+        this.requestMatcher = requestMatcher;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !requestMatcher.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = securityContextHolderStrategy.getContext().getAuthentication();
+        if (trustResolver.isAuthenticated(authentication)) {
+            long wait = rateLimiter.tryAcquire(authentication);
+            if (wait > 0) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999))));
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,38 @@
+package com.angelozero.spring.security64.config.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * @param maxPrincipals number of principals with a bucket; the least recently used ones are evicted past it
+ * @param idleTimeout   time after which the bucket of an idle principal is dropped, it would be full again anyway
+ * @param defaultLimit  limit of principals without any of the {@code tiers} authorities
+ * @param tiers         limits by authority, e.g. {@code ROLE_MASTER}; a principal gets the highest rate it has
+ */
+@ConfigurationProperties("security64.rate-limit")
+public record RateLimitProperties(@DefaultValue("false") boolean enabled,
+                                  @DefaultValue("10000") int maxPrincipals,
+                                  @DefaultValue("10m") Duration idleTimeout,
+                                  @DefaultValue Limit defaultLimit,
+                                  Map<String, Limit> tiers) {
+
+    /**
+     * @param rate  requests per second
+     * @param burst requests accepted at once after being idle
+     */
+    public record Limit(@DefaultValue("50") double rate, @DefaultValue("100") int burst) {
+
+        public Limit {
+            if (!(rate > 0) || burst < 1) {
+                throw new IllegalArgumentException(STR."Rate must be positive and burst at least 1, not \{rate} and \{burst}");
+            }
+        }
+
+        long intervalNanos() {
+            return Math.max(1, (long) (1_000_000_000d / rate));
+        }
+    }
+}
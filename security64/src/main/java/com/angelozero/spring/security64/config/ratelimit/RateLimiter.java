@@ -0,0 +1,94 @@
+package com.angelozero.spring.security64.config.ratelimit;
+
+import com.angelozero.spring.security64.config.ratelimit.RateLimitProperties.Limit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link TokenBucket} per principal name, held in a bounded cache that evicts the least recently used and idle
+ * principals. The limit of a request comes from the tier of its authentication, the tier authority with the highest
+ * rate, or the default limit. Limits can be changed at runtime; every rejection is counted as
+ * {@code security64.rate-limit.rejected}, tagged by tier.
+ */
+public class RateLimiter {
+
+    public static final String COUNTER = "security64.rate-limit.rejected";
+    public static final String DEFAULT_TIER = "default";
+
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<String, Counter> rejected = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private volatile Map<String, Limit> tiers;
+    private volatile Limit defaultLimit;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxPrincipals())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+        this.meterRegistry = meterRegistry;
+        this.tiers = properties.tiers() == null ? Map.of() : Map.copyOf(properties.tiers());
+        this.defaultLimit = properties.defaultLimit();
+    }
+
+    /**
+     * @return 0 when the request is admitted, otherwise the nanoseconds until the principal may send the next one
+     */
+    public long tryAcquire(Authentication authentication) {
+        Map<String, Limit> tiers = this.tiers;
+        String tier = DEFAULT_TIER;
+        Limit limit = defaultLimit;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            Limit candidate = tiers.get(authority.getAuthority());
+            if (candidate != null && (tier == DEFAULT_TIER || candidate.rate() > limit.rate())) {
+                tier = authority.getAuthority();
+                limit = candidate;
+            }
+        }
+
+        long now = System.nanoTime();
+        long wait = buckets.get(authentication.getName(), (name) -> new TokenBucket(now)).tryAcquire(now, limit);
+        if (wait > 0) {
+            rejected.computeIfAbsent(tier, (name) -> Counter.builder(COUNTER)
+                    .description("Requests rejected because their principal went over its rate limit")
+                    .tag("tier", name)
+                    .register(meterRegistry)).increment();
+        }
+        return wait;
+    }
+
+    public Map<String, Limit> limits() {
+        Map<String, Limit> limits = new LinkedHashMap<>();
+        limits.put(DEFAULT_TIER, defaultLimit);
+        limits.putAll(tiers);
+        return limits;
+    }
+
+    public synchronized void setLimit(String tier, Limit limit) {
+        if (DEFAULT_TIER.equals(tier)) {
+            defaultLimit = limit;
+            return;
+        }
+        Map<String, Limit> next = new HashMap<>(tiers);
+        next.put(tier, limit);
+        tiers = Map.copyOf(next);
+    }
+
+    public synchronized void removeLimit(String tier) {
+        if (DEFAULT_TIER.equals(tier)) {
+            throw new IllegalArgumentException("The default limit cannot be removed");
+        }
+        Map<String, Limit> next = new HashMap<>(tiers);
+        next.remove(tier);
+        tiers = Map.copyOf(next);
+    }
+}
@@ -0,0 +1,44 @@
+package com.angelozero.spring.security64.config.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single {@code long}, the time at which it would be full again (the generic cell rate
+ * algorithm): taking a token moves that time forward by one token interval, and a token is only available while it
+ * stays within {@code burst} intervals of now. Acquiring is one compare-and-set, without locks; the rate and burst
+ * are passed in on every call, so new limits apply to existing buckets immediately.
+ */
+public class TokenBucket {
+
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token at {@code now} (a {@link System#nanoTime()}) if one is available.
+     *
+     * @return 0 when the token was taken, otherwise the nanoseconds until the next one is available
+     */
+    public long tryAcquire(long now, RateLimitProperties.Limit limit) {
+        long interval = limit.intervalNanos();
+        long capacity = interval * limit.burst();
+        while (true) {
+            long current = fullAt.get();
+            if (current - now > capacity) {
+                // emptier than empty, left by a previous limit with a longer capacity: start refilling from empty
+                fullAt.compareAndSet(current, now + capacity);
+                continue;
+            }
+            long next = (current - now < 0 ? now : current) + interval;
+            long excess = next - now - capacity;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.angelozero.spring.security64.entrypoint;
+
+import com.angelozero.spring.security64.config.authentication.SignedTokenService;
+import com.angelozero.spring.security64.config.authentication.SignedTokenService.IssuedToken;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/auth")
+@Profile("!reactive")
+@AllArgsConstructor
+@ConditionalOnProperty(name = "security64.authentication.token.enabled", havingValue = "true")
+public class AuthTokenController {
+
+    private final SignedTokenService signedTokenService;
+
+    @PostMapping(value = "/token", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IssuedToken> token(Authentication authentication) {
+        var response = signedTokenService.issue(authentication);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
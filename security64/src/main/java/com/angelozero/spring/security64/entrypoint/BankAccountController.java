@@ -1,26 +1,89 @@
 package com.angelozero.spring.security64.entrypoint;
 
+import com.angelozero.spring.security64.entrypoint.BulkSaveResponse.Reason;
+import com.angelozero.spring.security64.entrypoint.BulkSaveResponse.Rejection;
+import com.angelozero.spring.security64.gateway.ExportBankAccountsGateway;
 import com.angelozero.spring.security64.usecase.domain.BankAccount;
 import com.angelozero.spring.security64.gateway.FindBankAccountByIdGateway;
+import com.angelozero.spring.security64.gateway.FindBankAccountsByOwnerGateway;
 import com.angelozero.spring.security64.gateway.SaveBankAccountGateway;
+import com.angelozero.spring.security64.gateway.SaveBankAccountsGateway;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/v1/bank-account")
+@Profile("!reactive")
 @AllArgsConstructor
 public class BankAccountController {
 
+    private static final int BULK_BATCH_SIZE = 1000;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final FindBankAccountByIdGateway findBankAccountById;
+    private final BankAccountResponses bankAccountResponses;
     private final SaveBankAccountGateway saveBankAccount;
+    private final SaveBankAccountsGateway saveBankAccounts;
+    private final ExportBankAccountsGateway exportBankAccounts;
+    private final FindBankAccountsByOwnerGateway findBankAccountsByOwner;
+    private final ObjectMapper objectMapper;
 
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<BankAccount> findById(@PathVariable("id") Integer id) {
-        var response = findBankAccountById.execute(id);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<byte[]> findById(@PathVariable("id") Integer id, WebRequest request) throws IOException {
+        var response = bankAccountResponses.find(id, request);
+        if (response.json() == null) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(response.etag()).contentType(MediaType.APPLICATION_JSON).body(response.json());
+    }
+
+    @GetMapping(params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> findByIds(@RequestParam("ids") List<Integer> ids) {
+        var response = findBankAccountById.execute(RequestedIds.check(ids));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(writeArray(response));
+    }
+
+    @GetMapping(params = "owner", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BankAccountPage> findByOwner(@RequestParam("owner") String owner,
+                                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                                       @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, STR."limit must be between 1 and \{MAX_PAGE_SIZE}");
+        }
+        var accounts = findBankAccountsByOwner.execute(owner, OwnerCursors.decode(owner, cursor), limit);
+        String next = accounts.size() < limit ? null : OwnerCursors.encode(owner, accounts.getLast().getId());
+        return new ResponseEntity<>(new BankAccountPage(accounts, next), HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> findByIdsInBody(@RequestBody List<Integer> ids) {
+        var response = findBankAccountById.execute(RequestedIds.check(ids));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(writeArray(response));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        var response = exportBankAccounts.execute();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(writeLines(response));
     }
 
     @PostMapping(value = "/", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -28,4 +91,90 @@ public class BankAccountController {
         saveBankAccount.execute(bankAccount);
         return new ResponseEntity<>(HttpStatus.OK);
     }
+
+    // a JSON array or NDJSON, read one account at a time and saved in batches, each batch synced to the store once
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkSaveResponse> saveBankAccounts(InputStream body) throws IOException {
+        List<Rejection> rejected = new ArrayList<>();
+        List<BankAccount> batch = new ArrayList<>(BULK_BATCH_SIZE);
+        int accepted = 0;
+        int index = 0;
+        try (MappingIterator<BankAccount> accounts = objectMapper.readerFor(BankAccount.class).readValues(body)) {
+            while (accounts.hasNextValue()) {
+                batch.add(accounts.nextValue());
+                if (batch.size() == BULK_BATCH_SIZE) {
+                    accepted += saveBatch(batch, index, rejected);
+                    index += batch.size();
+                    batch.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    STR."Unreadable bank account at index \{index + batch.size()}, only the first \{index} were processed", e);
+        }
+        accepted += saveBatch(batch, index, rejected);
+        return new ResponseEntity<>(new BulkSaveResponse(accepted, rejected), HttpStatus.OK);
+    }
+
+    // the gateway filters the batch in place and keeps the order, so what is left pairs up with the request
+    private int saveBatch(List<BankAccount> batch, int firstIndex, List<Rejection> rejected) {
+        List<BankAccount> valid = new ArrayList<>(batch.size());
+        for (BankAccount bankAccount : batch) {
+            if (bankAccount != null && bankAccount.getId() != null) {
+                valid.add(bankAccount);
+            }
+        }
+        if (!valid.isEmpty()) {
+            saveBankAccounts.execute(valid);
+        }
+
+        int saved = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            BankAccount bankAccount = batch.get(i);
+            if (bankAccount == null || bankAccount.getId() == null) {
+                rejected.add(new Rejection(firstIndex + i, null, Reason.INVALID));
+            } else if (saved < valid.size() && valid.get(saved) == bankAccount) {
+                saved++;
+            } else {
+                rejected.add(new Rejection(firstIndex + i, bankAccount.getId(), Reason.FORBIDDEN));
+            }
+        }
+        return saved;
+    }
+
+    private StreamingResponseBody writeArray(Stream<BankAccount> accounts) {
+        ObjectWriter writer = bankAccountWriter();
+        return (outputStream) -> {
+            try (accounts; JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                for (var iterator = accounts.iterator(); iterator.hasNext(); ) {
+                    writer.writeValue(generator, iterator.next());
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    private StreamingResponseBody writeLines(Stream<BankAccount> accounts) {
+        ObjectWriter writer = bankAccountWriter();
+        return (outputStream) -> {
+            try (accounts; JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                boolean first = true;
+                for (var iterator = accounts.iterator(); iterator.hasNext(); ) {
+                    writer.writeValue(generator, iterator.next());
+                    generator.writeRaw('\n');
+                    if (first) {
+                        generator.flush();
+                        first = false;
+                    }
+                }
+            }
+        };
+    }
+
+    private ObjectWriter bankAccountWriter() {
+        return objectMapper.writerFor(BankAccount.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
 }
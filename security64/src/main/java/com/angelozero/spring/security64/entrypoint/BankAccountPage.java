@@ -0,0 +1,12 @@
+package com.angelozero.spring.security64.entrypoint;
+
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+
+import java.util.List;
+
+/**
+ * One page of the accounts of an owner, by ascending id. {@code next} is the cursor of the following page, null
+ * once a page comes back short.
+ */
+public record BankAccountPage(List<BankAccount> accounts, String next) {
+}
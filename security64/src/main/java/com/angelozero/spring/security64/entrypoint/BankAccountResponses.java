@@ -0,0 +1,104 @@
+package com.angelozero.spring.security64.entrypoint;
+
+import com.angelozero.spring.security64.audit.AuditAction;
+import com.angelozero.spring.security64.audit.AuditTrail;
+import com.angelozero.spring.security64.config.authorization.BankAccountViews;
+import com.angelozero.spring.security64.config.authorization.PostAuthorizePrecheck;
+import com.angelozero.spring.security64.gateway.FindBankAccountByIdGateway;
+import com.angelozero.spring.security64.usecase.GetBankAccountInfo;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.lang.reflect.Method;
+import java.security.SecureRandom;
+
+/**
+ * The JSON of a bank account as {@link FindBankAccountByIdGateway#execute(Integer)} would return it, cached by id,
+ * version and view (the owner's or the masked one) and tagged with a strong ETag of the same three plus a per process
+ * epoch, since versions may restart with the process. The stored account is checked against the gateway's rules
+ * first; when they grant it, a matching {@code If-None-Match} is answered without a body and a cached JSON is
+ * served as is, neither going through the gateway, its return object authorization or Jackson. Everything else,
+ * including every denial, goes through the gateway.
+ */
+@Component
+@Profile("!reactive")
+public class BankAccountResponses {
+
+    private static final Method FIND_BY_ID = ReflectionUtils.findMethod(FindBankAccountByIdGateway.class, "execute", Integer.class);
+    private static final Method MASKED_GETTER = ReflectionUtils.findMethod(BankAccount.class, "getAccountNumber");
+
+    public record Key(int id, long version, boolean owner) {
+    }
+
+    /**
+     * @param json {@code null} when the request was not modified, the 304 is already set on the response
+     */
+    public record Representation(String etag, byte[] json) {
+    }
+
+    private final String epoch = Integer.toString(new SecureRandom().nextInt() & Integer.MAX_VALUE, 36);
+    private final Cache<Key, byte[]> bankAccountResponseCache;
+    private final GetBankAccountInfo getBankAccountInfo;
+    private final FindBankAccountByIdGateway findBankAccountById;
+    private final PostAuthorizePrecheck postAuthorizePrecheck;
+    private final AuditTrail auditTrail;
+    private final ObjectMapper objectMapper;
+
+    public BankAccountResponses(Cache<Key, byte[]> bankAccountResponseCache, GetBankAccountInfo getBankAccountInfo,
+                                FindBankAccountByIdGateway findBankAccountById, PostAuthorizePrecheck postAuthorizePrecheck,
+                                AuditTrail auditTrail, ObjectMapper objectMapper) {
+        this.bankAccountResponseCache = bankAccountResponseCache;
+        this.getBankAccountInfo = getBankAccountInfo;
+        this.findBankAccountById = findBankAccountById;
+        this.postAuthorizePrecheck = postAuthorizePrecheck;
+        this.auditTrail = auditTrail;
+        this.objectMapper = objectMapper;
+    }
+
+    public Representation find(Integer id, WebRequest request) throws JsonProcessingException {
+        Authentication authentication = SecurityContextHolder.getContextHolderStrategy().getContext().getAuthentication();
+        BankAccount stored = getBankAccountInfo.execute(id);
+        if (postAuthorizePrecheck.isGranted(findBankAccountById, FIND_BY_ID, stored, id)) {
+            Key key = keyOf(stored, authentication);
+            String etag = etagOf(key);
+            if (request.checkNotModified(etag)) {
+                recordMasked(key);
+                return new Representation(etag, null);
+            }
+            byte[] json = bankAccountResponseCache.getIfPresent(key);
+            if (json != null) {
+                recordMasked(key);
+                return new Representation(etag, json);
+            }
+        }
+
+        BankAccount account = findBankAccountById.execute(id);
+        Key key = keyOf(account, authentication);
+        byte[] json = objectMapper.writeValueAsBytes(account);
+        bankAccountResponseCache.put(key, json);
+        return new Representation(etagOf(key), json);
+    }
+
+    private String etagOf(Key key) {
+        return STR."\"\{epoch}-\{key.id()}-\{key.version()}-\{key.owner() ? "owner" : "masked"}\"";
+    }
+
+    // serving the masked view is the account number rule's decision, audited as if the getter had been called
+    private void recordMasked(Key key) {
+        if (!key.owner()) {
+            auditTrail.record(AuditAction.MASKED, MASKED_GETTER, key.id());
+        }
+    }
+
+    private static Key keyOf(BankAccount account, Authentication authentication) {
+        return new Key(account.getId(), account.getVersion(), BankAccountViews.isOwner(account.getOwner(), authentication));
+    }
+}
@@ -0,0 +1,16 @@
+package com.angelozero.spring.security64.entrypoint;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk save: how many accounts were saved and, by position in the request, which ones were not.
+ */
+public record BulkSaveResponse(int accepted, List<Rejection> rejected) {
+
+    public enum Reason {
+        INVALID, FORBIDDEN
+    }
+
+    public record Rejection(int index, Integer id, Reason reason) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.angelozero.spring.security64.entrypoint;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursors of the owner listing: the last id of a page and the owner it was listed for, so a cursor is only
+ * accepted for the same owner.
+ */
+final class OwnerCursors {
+
+    private OwnerCursors() {
+    }
+
+    static String encode(String owner, int lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(STR."\{lastId}:\{owner}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Integer decode(String owner, String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            if (separator > 0 && decoded.substring(separator + 1).equals(owner)) {
+                return Integer.valueOf(decoded.substring(0, separator));
+            }
+        } catch (IllegalArgumentException e) {
+            // not base64 or not a number, rejected below
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, STR."Invalid cursor for owner \{owner}");
+    }
+}
@@ -0,0 +1,50 @@
+package com.angelozero.spring.security64.entrypoint;
+
+import com.angelozero.spring.security64.gateway.ReactiveExportBankAccountsGateway;
+import com.angelozero.spring.security64.gateway.ReactiveFindBankAccountByIdGateway;
+import com.angelozero.spring.security64.gateway.ReactiveSaveBankAccountGateway;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/bank-account")
+@Profile("reactive")
+@AllArgsConstructor
+public class ReactiveBankAccountController {
+
+    private final ReactiveFindBankAccountByIdGateway findBankAccountById;
+    private final ReactiveSaveBankAccountGateway saveBankAccount;
+    private final ReactiveExportBankAccountsGateway exportBankAccounts;
+
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<BankAccount> findById(@PathVariable("id") Integer id) {
+        return findBankAccountById.execute(id);
+    }
+
+    @GetMapping(params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<BankAccount> findByIds(@RequestParam("ids") List<Integer> ids) {
+        return findBankAccountById.execute(RequestedIds.check(ids));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<BankAccount> findByIdsInBody(@RequestBody List<Integer> ids) {
+        return findBankAccountById.execute(RequestedIds.check(ids));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BankAccount> export() {
+        return exportBankAccounts.execute();
+    }
+
+    @PostMapping(value = "/", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Void> saveBankAccount(@RequestBody BankAccount bankAccount) {
+        return saveBankAccount.execute(bankAccount);
+    }
+}
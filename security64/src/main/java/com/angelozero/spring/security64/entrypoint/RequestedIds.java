@@ -0,0 +1,30 @@
+package com.angelozero.spring.security64.entrypoint;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Checks the ids of a batch lookup before the response starts: once the stream of accounts is being written the
+ * status is already sent, so a missing id would end the array half way instead of answering 400.
+ */
+final class RequestedIds {
+
+    static final int MAX_IDS = 500;
+
+    private RequestedIds() {
+    }
+
+    static List<Integer> check(List<Integer> ids) {
+        if (ids.size() > MAX_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, STR."At most \{MAX_IDS} ids can be requested at once");
+        }
+        for (Integer id : ids) {
+            if (id == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must not be empty or null");
+            }
+        }
+        return ids;
+    }
+}
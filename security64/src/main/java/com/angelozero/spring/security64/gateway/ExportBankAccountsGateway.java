@@ -0,0 +1,13 @@
+package com.angelozero.spring.security64.gateway;
+
+
+import com.angelozero.spring.security64.gateway.annotation.PostCheckBankAccountOwner;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+
+import java.util.stream.Stream;
+
+public interface ExportBankAccountsGateway {
+
+    @PostCheckBankAccountOwner
+    Stream<BankAccount> execute();
+}
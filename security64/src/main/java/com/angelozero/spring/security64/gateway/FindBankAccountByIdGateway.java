@@ -4,8 +4,14 @@ package com.angelozero.spring.security64.gateway;
 import com.angelozero.spring.security64.usecase.domain.BankAccount;
 import com.angelozero.spring.security64.gateway.annotation.PostCheckBankAccountOwner;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface FindBankAccountByIdGateway {
 
     @PostCheckBankAccountOwner
     BankAccount execute(Integer id);
+
+    @PostCheckBankAccountOwner
+    Stream<BankAccount> execute(List<Integer> ids);
 }
@@ -0,0 +1,11 @@
+package com.angelozero.spring.security64.gateway;
+
+import com.angelozero.spring.security64.gateway.annotation.PostCheckBankAccountOwner;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveExportBankAccountsGateway {
+
+    @PostCheckBankAccountOwner
+    Flux<BankAccount> execute();
+}
@@ -0,0 +1,17 @@
+package com.angelozero.spring.security64.gateway;
+
+import com.angelozero.spring.security64.gateway.annotation.PostCheckBankAccountOwner;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveFindBankAccountByIdGateway {
+
+    @PostCheckBankAccountOwner
+    Mono<BankAccount> execute(Integer id);
+
+    @PostCheckBankAccountOwner
+    Flux<BankAccount> execute(List<Integer> ids);
+}
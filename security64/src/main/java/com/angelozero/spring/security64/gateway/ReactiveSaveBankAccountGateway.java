@@ -0,0 +1,11 @@
+package com.angelozero.spring.security64.gateway;
+
+import com.angelozero.spring.security64.gateway.annotation.PreCheckBankAccountOwner;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveSaveBankAccountGateway {
+
+    @PreCheckBankAccountOwner
+    Mono<Void> execute(BankAccount bankAccount);
+}
@@ -0,0 +1,14 @@
+package com.angelozero.spring.security64.gateway;
+
+
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.angelozero.spring.security64.gateway.annotation.PreFilterBankAccountOwner;
+
+import java.util.List;
+
+public interface SaveBankAccountsGateway {
+
+    // accounts of other owners are removed from the list before it is saved
+    @PreFilterBankAccountOwner
+    void execute(List<BankAccount> bankAccounts);
+}
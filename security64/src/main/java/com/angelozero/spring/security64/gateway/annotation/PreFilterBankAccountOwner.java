@@ -0,0 +1,11 @@
+package com.angelozero.spring.security64.gateway.annotation;
+
+import org.springframework.security.access.prepost.PreFilter;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@PreFilter("filterObject?.owner == authentication?.name")
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PreFilterBankAccountOwner {
+}
@@ -0,0 +1,37 @@
+package com.angelozero.spring.security64.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("security64.AuthorizationDecision")
+@Label("Authorization Decision")
+@Category({"Security64", "Authorization"})
+@Description("A method security rule evaluated for one call")
+@StackTrace(false)
+public class AuthorizationDecisionEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Annotation")
+    public String annotation;
+
+    @Label("Phase")
+    @Description("pre or post")
+    public String phase;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Principal Hash")
+    public int principalHash;
+
+    @Label("Decision Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long decisionTime;
+}
@@ -0,0 +1,26 @@
+package com.angelozero.spring.security64.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("security64.GatewayCall")
+@Label("Gateway Call")
+@Category({"Security64", "Gateway"})
+@Description("A call through a bank account gateway proxy, method security included")
+@StackTrace(false)
+public class GatewayCallEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Outcome")
+    @Description("returned, denied or failed")
+    public String outcome;
+
+    @Label("Principal Hash")
+    public int principalHash;
+}
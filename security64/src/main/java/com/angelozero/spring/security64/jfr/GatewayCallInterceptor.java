@@ -0,0 +1,63 @@
+package com.angelozero.spring.security64.jfr;
+
+import com.angelozero.spring.security64.gateway.FindBankAccountByIdGateway;
+import com.angelozero.spring.security64.gateway.SaveBankAccountGateway;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Emits a {@link GatewayCallEvent} around every call of the bank account gateways. Ordered first, so the event
+ * covers the method security interceptors of the same proxy too.
+ */
+public class GatewayCallInterceptor implements MethodInterceptor {
+
+    private static final List<Class<?>> GATEWAYS = List.of(FindBankAccountByIdGateway.class, SaveBankAccountGateway.class);
+
+    public static final Pointcut POINTCUT = new StaticMethodMatcherPointcut() {
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            for (Class<?> gateway : GATEWAYS) {
+                if (gateway.isAssignableFrom(targetClass)
+                        && ReflectionUtils.findMethod(gateway, method.getName(), method.getParameterTypes()) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    };
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        GatewayCallEvent event = new GatewayCallEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+
+        event.begin();
+        String outcome = "failed";
+        try {
+            Object result = invocation.proceed();
+            outcome = "returned";
+            return result;
+        } catch (AccessDeniedException e) {
+            outcome = "denied";
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = JfrEvents.nameOf(invocation.getMethod());
+                event.outcome = outcome;
+                event.principalHash = JfrEvents.principalHash();
+                event.commit();
+            }
+        }
+    }
+}
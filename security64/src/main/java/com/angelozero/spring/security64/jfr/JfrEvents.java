@@ -0,0 +1,40 @@
+package com.angelozero.spring.security64.jfr;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Values shared by the security64 events. Callers only come here once {@code isEnabled()} of their event returned
+ * true, so none of this runs while nothing is recording.
+ */
+public final class JfrEvents {
+
+    // principal hashes group the events of one principal within a recording, without the recording naming it
+    private static final int SALT = new SecureRandom().nextInt();
+    private static final Map<Method, String> METHOD_NAMES = new ConcurrentHashMap<>();
+
+    private JfrEvents() {
+    }
+
+    public static String nameOf(Method method) {
+        return METHOD_NAMES.computeIfAbsent(method, (key) -> STR."\{key.getDeclaringClass().getSimpleName()}.\{key.getName()}");
+    }
+
+    public static int principalHash() {
+        Authentication authentication = SecurityContextHolder.getContextHolderStrategy().getContext().getAuthentication();
+        if (authentication == null) {
+            return 0;
+        }
+        int hash = authentication.getName().hashCode() ^ SALT;
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,25 @@
+package com.angelozero.spring.security64.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("security64.MaskedAccess")
+@Label("Masked Access")
+@Category({"Security64", "Authorization"})
+@Description("A denied getter answered by MaskAuthorizationDeniedHandler")
+@StackTrace(false)
+public class MaskedAccessEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Principal Hash")
+    public int principalHash;
+}
@@ -0,0 +1,126 @@
+package com.angelozero.spring.security64.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summarizes the security64 events of a JFR recording: the authorization rules that took the most time, with their
+ * share of all decision time and of the time spent in gateway calls, followed by the gateway calls and masked reads.
+ * <pre>
+ * java --enable-preview -cp target/security64-0.0.1-SNAPSHOT.jar com.angelozero.spring.security64.jfr.RecordingAnalyzer security64.jfr [top]
+ * </pre>
+ */
+public class RecordingAnalyzer {
+
+    private static final class Totals {
+
+        private long count;
+        private long rejected;
+        private long nanos;
+        private long maxNanos;
+
+        private void add(long duration, boolean rejection) {
+            count++;
+            nanos += duration;
+            maxNanos = Math.max(maxNanos, duration);
+            if (rejection) {
+                rejected++;
+            }
+        }
+    }
+
+    private final Map<String, Totals> rules = new HashMap<>();
+    private final Map<String, Totals> gatewayCalls = new HashMap<>();
+    private final Map<String, Totals> maskedAccesses = new HashMap<>();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: RecordingAnalyzer <recording.jfr> [top]");
+            System.exit(2);
+        }
+        RecordingAnalyzer analyzer = new RecordingAnalyzer();
+        analyzer.read(Path.of(args[0]));
+        analyzer.print(System.out, args.length > 1 ? Integer.parseInt(args[1]) : 10);
+    }
+
+    public void read(Path recording) throws IOException {
+        for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+            switch (event.getEventType().getName()) {
+                case "security64.AuthorizationDecision" -> rules
+                        .computeIfAbsent(STR."@\{event.getString("annotation")} \{event.getString("phase")} \{event.getString("method")}", (key) -> new Totals())
+                        .add(event.getLong("decisionTime"), !"granted".equals(event.getString("outcome")));
+                case "security64.GatewayCall" -> gatewayCalls
+                        .computeIfAbsent(event.getString("method"), (key) -> new Totals())
+                        .add(event.getDuration().toNanos(), !"returned".equals(event.getString("outcome")));
+                case "security64.MaskedAccess" -> maskedAccesses
+                        .computeIfAbsent(event.getString("method"), (key) -> new Totals())
+                        .add(event.getDuration().toNanos(), true);
+                default -> {
+                }
+            }
+        }
+    }
+
+    public void print(PrintStream out, int top) {
+        long decisionNanos = total(rules);
+        long gatewayNanos = total(gatewayCalls);
+        out.println(STR."\{count(rules)} decisions in \{millis(decisionNanos)} ms, \{count(gatewayCalls)} gateway calls in \{millis(gatewayNanos)} ms");
+
+        out.println();
+        out.println("%-60s %9s %9s %10s %9s %9s %8s %9s".formatted("hottest rules", "count", "rejected",
+                "total ms", "mean us", "max us", "share", "gateway"));
+        for (Map.Entry<String, Totals> rule : sorted(rules).stream().limit(top).toList()) {
+            Totals totals = rule.getValue();
+            out.println("%-60s %9d %9d %10.3f %9.2f %9.2f %7.1f%% %8.1f%%".formatted(rule.getKey(), totals.count,
+                    totals.rejected, millis(totals.nanos), micros(totals.nanos) / totals.count, micros(totals.maxNanos),
+                    percent(totals.nanos, decisionNanos), percent(totals.nanos, gatewayNanos)));
+        }
+
+        print(out, "gateway calls", "not returned", gatewayCalls);
+        print(out, "masked reads", "masked", maskedAccesses);
+    }
+
+    private static void print(PrintStream out, String title, String rejected, Map<String, Totals> methods) {
+        out.println();
+        out.println("%-60s %9s %12s %10s %9s %9s".formatted(title, "count", rejected, "total ms", "mean us", "max us"));
+        for (Map.Entry<String, Totals> method : sorted(methods)) {
+            Totals totals = method.getValue();
+            out.println("%-60s %9d %12d %10.3f %9.2f %9.2f".formatted(method.getKey(), totals.count, totals.rejected,
+                    millis(totals.nanos), micros(totals.nanos) / totals.count, micros(totals.maxNanos)));
+        }
+    }
+
+    private static List<Map.Entry<String, Totals>> sorted(Map<String, Totals> totals) {
+        return totals.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Totals> entry) -> entry.getValue().nanos).reversed())
+                .toList();
+    }
+
+    private static long total(Map<String, Totals> totals) {
+        return totals.values().stream().mapToLong((value) -> value.nanos).sum();
+    }
+
+    private static long count(Map<String, Totals> totals) {
+        return totals.values().stream().mapToLong((value) -> value.count).sum();
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0 : 100d * part / whole;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1e3;
+    }
+}
@@ -0,0 +1,33 @@
+package com.angelozero.spring.security64.store;
+
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface AccountStore {
+
+    BankAccount findById(int id);
+
+    void save(BankAccount bankAccount);
+
+    default void saveAll(List<BankAccount> bankAccounts) {
+        bankAccounts.forEach(this::save);
+    }
+
+    // ascending ids of the owner above after (from the lowest when null), scanning every account unless indexed
+    default int[] findIdsByOwner(String owner, Integer after, int limit) {
+        try (Stream<BankAccount> accounts = findAll()) {
+            return accounts.filter((bankAccount) -> owner.equals(bankAccount.getOwner()))
+                    .mapToInt(BankAccount::getId)
+                    .filter((id) -> after == null || id > after)
+                    .sorted()
+                    .limit(limit)
+                    .toArray();
+        }
+    }
+
+    Stream<BankAccount> findAll();
+
+    int size();
+}
@@ -0,0 +1,67 @@
+package com.angelozero.spring.security64.store;
+
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of another store. Only the stored {@link BankAccount} is cached, authorization and
+ * masking are applied per caller on top of it. A save goes to the delegate first and then invalidates the id, so a
+ * read racing with it either completes before the invalidation or loads the new value. Missing ids are not cached.
+ */
+public class CachingAccountStore implements AccountStore, Closeable {
+
+    private final AccountStore delegate;
+    private final Cache<Integer, BankAccount> cache;
+    private final Function<Integer, BankAccount> loader;
+
+    public CachingAccountStore(AccountStore delegate, Cache<Integer, BankAccount> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.loader = delegate::findById;
+    }
+
+    @Override
+    public BankAccount findById(int id) {
+        return cache.get(id, loader);
+    }
+
+    @Override
+    public void save(BankAccount bankAccount) {
+        delegate.save(bankAccount);
+        cache.invalidate(bankAccount.getId());
+    }
+
+    @Override
+    public void saveAll(List<BankAccount> bankAccounts) {
+        delegate.saveAll(bankAccounts);
+        bankAccounts.forEach((bankAccount) -> cache.invalidate(bankAccount.getId()));
+    }
+
+    @Override
+    public int[] findIdsByOwner(String owner, Integer after, int limit) {
+        return delegate.findIdsByOwner(owner, after, limit);
+    }
+
+    @Override
+    public Stream<BankAccount> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.angelozero.spring.security64.store;
+
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.angelozero.spring.security64.usecase.domain.StoredBankAccount;
+
+import java.util.stream.Stream;
+
+/**
+ * In memory store keyed by primitive account id, kept in an {@link IntKeyedTable}: lock striped segments written
+ * under their lock and read without locking. A save stores a {@link StoredBankAccount} copy one version above the
+ * account it replaces; that copy is what readers get, it is never mutated.
+ */
+public class EmbeddedAccountStore implements AccountStore {
+
+    private static final int DEFAULT_SEGMENTS = 64;
+    private static final int DEFAULT_SEGMENT_CAPACITY = 16;
+
+    private final IntKeyedTable<BankAccount> accounts;
+
+    public EmbeddedAccountStore() {
+        this(DEFAULT_SEGMENTS, DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    public EmbeddedAccountStore(int segments, int segmentCapacity) {
+        this.accounts = new IntKeyedTable<>(segments, segmentCapacity);
+    }
+
+    @Override
+    public BankAccount findById(int id) {
+        return accounts.get(id);
+    }
+
+    @Override
+    public void save(BankAccount bankAccount) {
+        if (bankAccount.getId() == null) {
+            throw new IllegalArgumentException("Bank account id is required");
+        }
+        accounts.update(bankAccount.getId(), (previous) -> copyOf(bankAccount, previous));
+    }
+
+    @Override
+    public Stream<BankAccount> findAll() {
+        return accounts.values();
+    }
+
+    @Override
+    public int size() {
+        return accounts.size();
+    }
+
+    private static BankAccount copyOf(BankAccount bankAccount, BankAccount previous) {
+        return new StoredBankAccount(bankAccount.getId(), bankAccount.getOwner(), bankAccount.getAccountNumber(), bankAccount.getBalance(),
+                previous == null ? 1 : previous.getVersion() + 1);
+    }
+}
@@ -0,0 +1,182 @@
+package com.angelozero.spring.security64.store;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Map of primitive {@code int} keys shared by the stores. Entries are spread over lock striped segments, each one an
+ * open addressing (linear probing) table. Writers take the segment lock, readers never lock: a slot is published by
+ * the volatile write of its value, after its key, and tables are replaced as a whole on resize. Values are never
+ * {@code null} and never removed, so a {@code null} value marks an empty slot.
+ */
+class IntKeyedTable<V> {
+
+    private final Segment<V>[] segments;
+    private final int segmentShift;
+
+    @SuppressWarnings("unchecked")
+    IntKeyedTable(int segments, int segmentCapacity) {
+        if (Integer.bitCount(segments) != 1 || Integer.bitCount(segmentCapacity) != 1) {
+            throw new IllegalArgumentException("Segments and segment capacity must be powers of two");
+        }
+        this.segments = new Segment[segments];
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segments);
+        for (int i = 0; i < segments; i++) {
+            this.segments[i] = new Segment<>(segmentCapacity);
+        }
+    }
+
+    V get(int key) {
+        int hash = hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Replaces the value of the key with what {@code update} makes of the current one ({@code null} when absent),
+     * under the segment lock, so updates of one key never interleave. Returning the current value keeps it.
+     */
+    V update(int key, UnaryOperator<V> update) {
+        int hash = hash(key);
+        return segmentFor(hash).update(key, hash, update);
+    }
+
+    // walks the slots itself, since flatMap would buffer a whole segment whenever the stream is pulled lazily
+    Stream<V> values() {
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<V>(Long.MAX_VALUE, Spliterator.NONNULL) {
+
+            private int segment;
+            private Table<V> table = segments[0].table;
+            private int slot;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super V> action) {
+                while (true) {
+                    if (slot == table.keys().length) {
+                        if (++segment == segments.length) {
+                            return false;
+                        }
+                        table = segments[segment].table;
+                        slot = 0;
+                    }
+                    V value = table.values().get(slot++);
+                    if (value != null) {
+                        action.accept(value);
+                        return true;
+                    }
+                }
+            }
+        }, false);
+    }
+
+    int size() {
+        return Arrays.stream(segments).mapToInt((segment) -> segment.size).sum();
+    }
+
+    private Segment<V> segmentFor(int hash) {
+        return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    static int hash(int key) {
+        int hash = key;
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private record Table<V>(int[] keys, AtomicReferenceArray<V> values) {
+
+        Table(int capacity) {
+            this(new int[capacity], new AtomicReferenceArray<>(capacity));
+        }
+
+        int mask() {
+            return keys.length - 1;
+        }
+    }
+
+    private static final class Segment<V> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Table<V> table;
+        private volatile int size;
+
+        Segment(int capacity) {
+            this.table = new Table<>(capacity);
+        }
+
+        V get(int key, int hash) {
+            Table<V> current = table;
+            int mask = current.mask();
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                V value = current.values().get(slot);
+                if (value == null) {
+                    return null;
+                }
+                if (current.keys()[slot] == key) {
+                    return value;
+                }
+            }
+        }
+
+        V update(int key, int hash, UnaryOperator<V> update) {
+            lock.lock();
+            try {
+                Table<V> current = table;
+                int slot = slotOf(current, key, hash);
+                V previous = current.values().get(slot);
+                V value = update.apply(previous);
+                if (previous != null) {
+                    if (value != previous) {
+                        current.values().set(slot, value);
+                    }
+                    return value;
+                }
+
+                if ((size + 1) * 4L > current.keys().length * 3L) {
+                    current = resize(current);
+                    table = current;
+                    slot = slotOf(current, key, hash);
+                }
+                current.keys()[slot] = key;
+                current.values().set(slot, value);
+                size = size + 1;
+                return value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static <V> int slotOf(Table<V> table, int key, int hash) {
+            int mask = table.mask();
+            int slot = hash & mask;
+            while (table.values().get(slot) != null && table.keys()[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private static <V> Table<V> resize(Table<V> current) {
+            Table<V> resized = new Table<>(current.keys().length * 2);
+            for (int slot = 0; slot < current.keys().length; slot++) {
+                V value = current.values().get(slot);
+                if (value != null) {
+                    int key = current.keys()[slot];
+                    int target = slotOf(resized, key, hash(key));
+                    resized.keys()[target] = key;
+                    resized.values().set(target, value);
+                }
+            }
+            return resized;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.angelozero.spring.security64.store;
+
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.angelozero.spring.security64.usecase.domain.StoredBankAccount;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable store writing every saved account as a fixed width record appended to memory mapped segment files, with
+ * an {@link IntKeyedTable} of the position of the latest record of each id. Reads decode straight from the mapped region.
+ * <p>
+ * A background flusher forces dirty segments to disk, batching every save since its previous pass into one
+ * {@code force}. With {@code awaitSync} a save returns only once that group commit covers it, otherwise it returns
+ * as soon as the record is in the mapping; {@link #saveAll(List)} waits once for the whole batch. On startup the
+ * segments are replayed in order and records failing their checksum are skipped. The version of an account is the
+ * position of its latest record plus one, so it grows on every save and survives restarts without being stored.
+ */
+public class MappedAccountStore implements AccountStore, Closeable {
+
+    static final int RECORD_SIZE = 128;
+
+    private static final int MAGIC = 0x42414E4B;
+    private static final int CHECKSUM_OFFSET = 4;
+    private static final int ID_OFFSET = 8;
+    private static final int BALANCE_OFFSET = 12;
+    private static final int OWNER_LENGTH_OFFSET = 20;
+    private static final int ACCOUNT_NUMBER_LENGTH_OFFSET = 22;
+    private static final int OWNER_OFFSET = 24;
+    private static final int ACCOUNT_NUMBER_OFFSET = 76;
+    private static final int MAX_TEXT_LENGTH = RECORD_SIZE - ACCOUNT_NUMBER_OFFSET;
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final Duration flushInterval;
+    private final boolean awaitSync;
+    private final IntKeyedTable<Long> index = new IntKeyedTable<>(64, 16);
+    private final AtomicLong nextPosition = new AtomicLong();
+    private final ReentrantLock segmentsLock = new ReentrantLock();
+    private volatile Segment[] segments = new Segment[0];
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition syncRequested = syncLock.newCondition();
+    private final Condition syncCompleted = syncLock.newCondition();
+    private long requestedSync;
+    private long completedSync;
+    private boolean closed;
+    private final Thread flusher;
+
+    public MappedAccountStore(Path directory, int recordsPerSegment, Duration flushInterval, boolean awaitSync) {
+        this.directory = directory;
+        this.recordsPerSegment = recordsPerSegment;
+        this.flushInterval = flushInterval;
+        this.awaitSync = awaitSync;
+        recover();
+        this.flusher = Thread.ofPlatform().name("account-store-flusher").daemon().start(this::flushLoop);
+    }
+
+    @Override
+    public BankAccount findById(int id) {
+        Long position = index.get(id);
+        return position == null ? null : read(position);
+    }
+
+    @Override
+    public void save(BankAccount bankAccount) {
+        if (bankAccount.getId() == null) {
+            throw new IllegalArgumentException("Bank account id is required");
+        }
+        write(nextPosition.getAndIncrement(), bankAccount.getId(), encode(bankAccount));
+
+        if (awaitSync) {
+            awaitSync();
+        }
+    }
+
+    // every record is encoded before positions are reserved, so an invalid account leaves no hole in the segments
+    @Override
+    public void saveAll(List<BankAccount> bankAccounts) {
+        byte[][] records = new byte[bankAccounts.size()][];
+        for (int i = 0; i < records.length; i++) {
+            if (bankAccounts.get(i).getId() == null) {
+                throw new IllegalArgumentException("Bank account id is required");
+            }
+            records[i] = encode(bankAccounts.get(i));
+        }
+        long first = nextPosition.getAndAdd(records.length);
+        for (int i = 0; i < records.length; i++) {
+            write(first + i, bankAccounts.get(i).getId(), records[i]);
+        }
+
+        if (awaitSync && records.length > 0) {
+            awaitSync();
+        }
+    }
+
+    @Override
+    public Stream<BankAccount> findAll() {
+        return index.values().map(this::read);
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public void close() {
+        syncLock.lock();
+        try {
+            closed = true;
+            syncRequested.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        force();
+    }
+
+    private void write(long position, int id, byte[] record) {
+        Segment segment = segment(position);
+        segment.buffer().put(offsetOf(position), record);
+        segment.markDirty();
+        index(id, position);
+    }
+
+    // keeps the highest position, so racing saves of the same id resolve the way a replay of the log would
+    private void index(int id, long position) {
+        index.update(id, (current) -> current == null || position > current ? Long.valueOf(position) : current);
+    }
+
+    private BankAccount read(long position) {
+        ByteBuffer buffer = segments[(int) (position / recordsPerSegment)].buffer();
+        int offset = offsetOf(position);
+        return new StoredBankAccount(
+                buffer.getInt(offset + ID_OFFSET),
+                readText(buffer, offset + OWNER_OFFSET, buffer.getShort(offset + OWNER_LENGTH_OFFSET)),
+                readText(buffer, offset + ACCOUNT_NUMBER_OFFSET, buffer.getShort(offset + ACCOUNT_NUMBER_LENGTH_OFFSET)),
+                buffer.getDouble(offset + BALANCE_OFFSET),
+                position + 1);
+    }
+
+    private static String readText(ByteBuffer buffer, int offset, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] text = new byte[length];
+        buffer.get(offset, text);
+        return new String(text, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(BankAccount bankAccount) {
+        byte[] owner = encodeText(bankAccount.getOwner(), "owner");
+        byte[] accountNumber = encodeText(bankAccount.getAccountNumber(), "account number");
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.putInt(0, MAGIC);
+        record.putInt(ID_OFFSET, bankAccount.getId());
+        record.putDouble(BALANCE_OFFSET, bankAccount.getBalance());
+        record.putShort(OWNER_LENGTH_OFFSET, (short) (owner == null ? -1 : owner.length));
+        record.putShort(ACCOUNT_NUMBER_LENGTH_OFFSET, (short) (accountNumber == null ? -1 : accountNumber.length));
+        if (owner != null) {
+            record.put(OWNER_OFFSET, owner);
+        }
+        if (accountNumber != null) {
+            record.put(ACCOUNT_NUMBER_OFFSET, accountNumber);
+        }
+        record.putInt(CHECKSUM_OFFSET, checksum(record));
+        return record.array();
+    }
+
+    private static byte[] encodeText(String text, String field) {
+        if (text == null) {
+            return null;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(STR."Bank account \{field} is longer than \{MAX_TEXT_LENGTH} bytes");
+        }
+        return bytes;
+    }
+
+    private static int checksum(ByteBuffer record) {
+        CRC32C crc = new CRC32C();
+        crc.update(record.slice(ID_OFFSET, RECORD_SIZE - ID_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private int offsetOf(long position) {
+        return (int) (position % recordsPerSegment) * RECORD_SIZE;
+    }
+
+    private Segment segment(long position) {
+        int number = (int) (position / recordsPerSegment);
+        Segment[] current = segments;
+        if (number < current.length) {
+            return current[number];
+        }
+
+        segmentsLock.lock();
+        try {
+            current = segments;
+            if (number >= current.length) {
+                Segment[] grown = Arrays.copyOf(current, number + 1);
+                for (int i = current.length; i <= number; i++) {
+                    grown[i] = map(i);
+                }
+                segments = grown;
+                current = grown;
+            }
+            return current[number];
+        } finally {
+            segmentsLock.unlock();
+        }
+    }
+
+    private Segment map(int number) {
+        Path file = directory.resolve(String.format("accounts-%06d.log", number));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Segment(channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_SIZE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(STR."Cannot map account segment \{file}", e);
+        }
+    }
+
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(STR."Cannot create account store directory \{directory}", e);
+        }
+
+        long end = 0;
+        for (int number = 0; Files.exists(directory.resolve(String.format("accounts-%06d.log", number))); number++) {
+            ByteBuffer buffer = segment((long) number * recordsPerSegment).buffer();
+            for (int slot = 0; slot < recordsPerSegment; slot++) {
+                int offset = slot * RECORD_SIZE;
+                int magic = buffer.getInt(offset);
+                if (magic == 0) {
+                    continue;
+                }
+                long position = (long) number * recordsPerSegment + slot;
+                end = position + 1;
+                ByteBuffer record = buffer.slice(offset, RECORD_SIZE);
+                if (magic == MAGIC && record.getInt(CHECKSUM_OFFSET) == checksum(record)) {
+                    index(record.getInt(ID_OFFSET), position);
+                }
+            }
+        }
+        nextPosition.set(end);
+    }
+
+    private void awaitSync() {
+        syncLock.lock();
+        try {
+            long ticket = ++requestedSync;
+            syncRequested.signal();
+            while (completedSync < ticket && !closed) {
+                syncCompleted.awaitUninterruptibly();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            long batch;
+            syncLock.lock();
+            try {
+                if (!closed && requestedSync == completedSync) {
+                    syncRequested.awaitNanos(flushInterval.toNanos());
+                }
+                if (closed) {
+                    return;
+                }
+                batch = requestedSync;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                syncLock.unlock();
+            }
+
+            force();
+
+            syncLock.lock();
+            try {
+                completedSync = batch;
+                syncCompleted.signalAll();
+            } finally {
+                syncLock.unlock();
+            }
+        }
+    }
+
+    private void force() {
+        for (Segment segment : segments) {
+            segment.force();
+        }
+    }
+
+    private static final class Segment {
+
+        private final MappedByteBuffer buffer;
+        private volatile boolean dirty;
+
+        Segment(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        MappedByteBuffer buffer() {
+            return buffer;
+        }
+
+        void markDirty() {
+            dirty = true;
+        }
+
+        void force() {
+            if (dirty) {
+                dirty = false;
+                buffer.force();
+            }
+        }
+    }
+}
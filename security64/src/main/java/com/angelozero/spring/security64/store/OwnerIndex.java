@@ -0,0 +1,70 @@
+package com.angelozero.spring.security64.store;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The account ids of every owner as a bitmap split into pages of {@value #PAGE_BITS} ids, kept in id order. Adding
+ * or removing an id flips one bit of one page, whatever the number of ids the owner has, and a page is a walk from
+ * the first page at or above the cursor that stops after {@code limit} ids, read without locking. Pages are kept
+ * once created, even when all of their ids are removed, so an add can never land on a page that is being dropped.
+ */
+class OwnerIndex {
+
+    private static final int PAGE_SHIFT = 12;
+    private static final int PAGE_BITS = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_BITS - 1;
+
+    private final Map<String, NavigableMap<Integer, AtomicLongArray>> ids = new ConcurrentHashMap<>();
+
+    void add(String owner, int id) {
+        AtomicLongArray page = ids.computeIfAbsent(owner, (key) -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(id >> PAGE_SHIFT, (key) -> new AtomicLongArray(PAGE_BITS / Long.SIZE));
+        page.getAndAccumulate((id & PAGE_MASK) >>> 6, 1L << id, (word, bit) -> word | bit);
+    }
+
+    void remove(String owner, int id) {
+        NavigableMap<Integer, AtomicLongArray> pages = ids.get(owner);
+        AtomicLongArray page = pages == null ? null : pages.get(id >> PAGE_SHIFT);
+        if (page != null) {
+            page.getAndAccumulate((id & PAGE_MASK) >>> 6, ~(1L << id), (word, bits) -> word & bits);
+        }
+    }
+
+    // up to limit ids of the owner above after, or from its lowest id when after is null
+    int[] find(String owner, Integer after, int limit) {
+        NavigableMap<Integer, AtomicLongArray> pages = ids.get(owner);
+        if (pages == null || limit <= 0 || (after != null && after == Integer.MAX_VALUE)) {
+            return new int[0];
+        }
+        int from = after == null ? Integer.MIN_VALUE : after + 1;
+        int[] found = new int[Math.min(limit, PAGE_BITS)];
+        int count = 0;
+        for (Map.Entry<Integer, AtomicLongArray> entry : pages.tailMap(from >> PAGE_SHIFT, true).entrySet()) {
+            int base = entry.getKey() << PAGE_SHIFT;
+            AtomicLongArray page = entry.getValue();
+            int start = base == (from & ~PAGE_MASK) ? from & PAGE_MASK : 0;
+            for (int word = start >>> 6; word < page.length(); word++) {
+                long bits = page.get(word);
+                if (word == start >>> 6) {
+                    bits &= -1L << start;
+                }
+                while (bits != 0) {
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, Math.min(limit, found.length * 2));
+                    }
+                    found[count++] = base + (word << 6) + Long.numberOfTrailingZeros(bits);
+                    if (count == limit) {
+                        return found;
+                    }
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+}
@@ -0,0 +1,116 @@
+package com.angelozero.spring.security64.store;
+
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Keeps an {@link OwnerIndex} of another store: built from its accounts once, then moved along with every save.
+ * Reading the previous owner, saving and moving the id in the index happen under a lock striped by id, so racing
+ * saves of one id apply their index changes in the order they reached the store and the id always ends up listed
+ * under its stored owner. A batch takes the stripes of all of its ids, in stripe order.
+ */
+public class OwnerIndexedAccountStore implements AccountStore, Closeable {
+
+    private static final int STRIPES = 64;
+
+    private final AccountStore delegate;
+    private final OwnerIndex ownerIndex = new OwnerIndex();
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public OwnerIndexedAccountStore(AccountStore delegate) {
+        this.delegate = delegate;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        try (Stream<BankAccount> accounts = delegate.findAll()) {
+            accounts.forEach((bankAccount) -> index(null, bankAccount));
+        }
+    }
+
+    @Override
+    public BankAccount findById(int id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public void save(BankAccount bankAccount) {
+        if (bankAccount.getId() == null) {
+            delegate.save(bankAccount);
+            return;
+        }
+        ReentrantLock lock = locks[stripe(bankAccount.getId())];
+        lock.lock();
+        try {
+            BankAccount previous = delegate.findById(bankAccount.getId());
+            delegate.save(bankAccount);
+            index(previous, bankAccount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void saveAll(List<BankAccount> bankAccounts) {
+        if (bankAccounts.stream().anyMatch((bankAccount) -> bankAccount.getId() == null)) {
+            delegate.saveAll(bankAccounts);
+            return;
+        }
+        int[] stripes = bankAccounts.stream().mapToInt((bankAccount) -> stripe(bankAccount.getId())).distinct().sorted().toArray();
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+        try {
+            List<BankAccount> previous = bankAccounts.stream().map((bankAccount) -> delegate.findById(bankAccount.getId())).toList();
+            delegate.saveAll(bankAccounts);
+            for (int i = 0; i < bankAccounts.size(); i++) {
+                index(previous.get(i), bankAccounts.get(i));
+            }
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    @Override
+    public int[] findIdsByOwner(String owner, Integer after, int limit) {
+        return ownerIndex.find(owner, after, limit);
+    }
+
+    @Override
+    public Stream<BankAccount> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static int stripe(int id) {
+        return IntKeyedTable.hash(id) & (STRIPES - 1);
+    }
+
+    private void index(BankAccount previous, BankAccount bankAccount) {
+        String owner = bankAccount.getOwner();
+        if (previous != null && previous.getOwner() != null && !Objects.equals(previous.getOwner(), owner)) {
+            ownerIndex.remove(previous.getOwner(), previous.getId());
+        }
+        if (owner != null) {
+            ownerIndex.add(owner, bankAccount.getId());
+        }
+    }
+}
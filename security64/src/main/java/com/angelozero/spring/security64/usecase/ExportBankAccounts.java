@@ -0,0 +1,21 @@
+package com.angelozero.spring.security64.usecase;
+
+import com.angelozero.spring.security64.gateway.ExportBankAccountsGateway;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.stream.Stream;
+
+@Service
+@AllArgsConstructor
+public class ExportBankAccounts implements ExportBankAccountsGateway {
+
+    private final GetBankAccountInfo getBankAccountInfo;
+
+    @Override
+    public Stream<BankAccount> execute() {
+
+        return getBankAccountInfo.execute();
+    }
+}
@@ -5,6 +5,9 @@ import com.angelozero.spring.security64.gateway.FindBankAccountByIdGateway;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Service
 @AllArgsConstructor
 public class FindBankAccountById implements FindBankAccountByIdGateway {
@@ -16,4 +19,10 @@ public class FindBankAccountById implements FindBankAccountByIdGateway {
 
         return getBankAccountInfo.execute(id);
     }
+
+    @Override
+    public Stream<BankAccount> execute(List<Integer> ids) {
+
+        return getBankAccountInfo.execute(ids);
+    }
 }
@@ -0,0 +1,20 @@
+package com.angelozero.spring.security64.usecase;
+
+import com.angelozero.spring.security64.gateway.FindBankAccountsByOwnerGateway;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class FindBankAccountsByOwner implements FindBankAccountsByOwnerGateway {
+
+    private final GetBankAccountInfo getBankAccountInfo;
+
+    @Override
+    public List<BankAccount> execute(String owner, Integer after, int limit) {
+        return getBankAccountInfo.execute(owner, after, limit);
+    }
+}
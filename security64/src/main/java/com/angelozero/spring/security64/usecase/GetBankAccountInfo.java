@@ -1,16 +1,52 @@
 package com.angelozero.spring.security64.usecase;
 
+import com.angelozero.spring.security64.store.AccountStore;
 import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Service
+@AllArgsConstructor
 public class GetBankAccountInfo {
 
+    private final AccountStore accountStore;
+
     public BankAccount execute(Integer id) {
-        return switch (id) {
-            case 1 -> new BankAccount(id, "angelo", "123", 543);
-            case 2 -> new BankAccount(id, "jake", "456", 987);
-            default -> new BankAccount(id, "", "", 0);
-        };
+        BankAccount bankAccount = accountStore.findById(id);
+        return bankAccount != null ? bankAccount : new BankAccount(id, "", "", 0);
+    }
+
+    public Stream<BankAccount> execute(List<Integer> ids) {
+        return ids.stream().map(this::execute);
+    }
+
+    // ids the index still lists under a previous owner are skipped, so a page may read a few ids more than it returns
+    public List<BankAccount> execute(String owner, Integer after, int limit) {
+        List<BankAccount> page = new ArrayList<>(limit);
+        Integer cursor = after;
+        while (page.size() < limit) {
+            int wanted = limit - page.size();
+            int[] ids = accountStore.findIdsByOwner(owner, cursor, wanted);
+            for (int id : ids) {
+                BankAccount bankAccount = accountStore.findById(id);
+                if (bankAccount != null && owner.equals(bankAccount.getOwner())) {
+                    page.add(bankAccount);
+                }
+                cursor = id;
+            }
+            if (ids.length < wanted) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    // in store order, so accounts are read one at a time as the stream is consumed instead of sorted up front
+    public Stream<BankAccount> execute() {
+        return accountStore.findAll();
     }
 }
@@ -0,0 +1,22 @@
+package com.angelozero.spring.security64.usecase;
+
+import com.angelozero.spring.security64.gateway.ReactiveExportBankAccountsGateway;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Service
+@Profile("reactive")
+@AllArgsConstructor
+public class ReactiveExportBankAccounts implements ReactiveExportBankAccountsGateway {
+
+    private final GetBankAccountInfo getBankAccountInfo;
+
+    @Override
+    public Flux<BankAccount> execute() {
+
+        return Flux.fromStream(getBankAccountInfo::execute);
+    }
+}
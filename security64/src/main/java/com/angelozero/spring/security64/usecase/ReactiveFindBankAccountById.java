@@ -0,0 +1,31 @@
+package com.angelozero.spring.security64.usecase;
+
+import com.angelozero.spring.security64.gateway.ReactiveFindBankAccountByIdGateway;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Service
+@Profile("reactive")
+@AllArgsConstructor
+public class ReactiveFindBankAccountById implements ReactiveFindBankAccountByIdGateway {
+
+    private final GetBankAccountInfo getBankAccountInfo;
+
+    @Override
+    public Mono<BankAccount> execute(Integer id) {
+
+        return Mono.fromSupplier(() -> getBankAccountInfo.execute(id));
+    }
+
+    @Override
+    public Flux<BankAccount> execute(List<Integer> ids) {
+
+        return Flux.fromIterable(ids).map(getBankAccountInfo::execute);
+    }
+}
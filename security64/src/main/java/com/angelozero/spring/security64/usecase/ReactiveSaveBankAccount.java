@@ -0,0 +1,30 @@
+package com.angelozero.spring.security64.usecase;
+
+import com.angelozero.spring.security64.audit.AuditAction;
+import com.angelozero.spring.security64.audit.AuditTrail;
+import com.angelozero.spring.security64.gateway.ReactiveSaveBankAccountGateway;
+import com.angelozero.spring.security64.store.AccountStore;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+@AllArgsConstructor
+public class ReactiveSaveBankAccount implements ReactiveSaveBankAccountGateway {
+
+    private final AccountStore accountStore;
+    private final AuditTrail auditTrail;
+
+    @Override
+    public Mono<Void> execute(BankAccount bankAccount) {
+        return Mono.fromRunnable(() -> accountStore.save(bankAccount))
+                .then(ReactiveSecurityContextHolder.getContext().mapNotNull((context) -> context.getAuthentication()))
+                .doOnNext((authentication) -> auditTrail.record(
+                        AuditAction.SAVE, authentication.getName(), "ReactiveSaveBankAccount.execute", AuditTrail.accountId(bankAccount.getId())))
+                .then();
+    }
+}
@@ -1,5 +1,8 @@
 package com.angelozero.spring.security64.usecase;
 
+import com.angelozero.spring.security64.audit.AuditAction;
+import com.angelozero.spring.security64.audit.AuditTrail;
+import com.angelozero.spring.security64.store.AccountStore;
 import com.angelozero.spring.security64.usecase.domain.BankAccount;
 import com.angelozero.spring.security64.gateway.SaveBankAccountGateway;
 import lombok.AllArgsConstructor;
@@ -9,8 +12,12 @@ import org.springframework.stereotype.Service;
 @AllArgsConstructor
 public class SaveBankAccount implements SaveBankAccountGateway {
 
+    private final AccountStore accountStore;
+    private final AuditTrail auditTrail;
+
     @Override
     public void execute(BankAccount bankAccount) {
-        System.out.println(STR."Bank Account: \{bankAccount.getAccountNumber()} saved with success");
+        accountStore.save(bankAccount);
+        auditTrail.record(AuditAction.SAVE, "SaveBankAccount.execute", AuditTrail.accountId(bankAccount.getId()));
     }
 }
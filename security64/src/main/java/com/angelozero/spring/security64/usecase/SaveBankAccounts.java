@@ -0,0 +1,27 @@
+package com.angelozero.spring.security64.usecase;
+
+import com.angelozero.spring.security64.audit.AuditAction;
+import com.angelozero.spring.security64.audit.AuditTrail;
+import com.angelozero.spring.security64.gateway.SaveBankAccountsGateway;
+import com.angelozero.spring.security64.store.AccountStore;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class SaveBankAccounts implements SaveBankAccountsGateway {
+
+    private final AccountStore accountStore;
+    private final AuditTrail auditTrail;
+
+    @Override
+    public void execute(List<BankAccount> bankAccounts) {
+        accountStore.saveAll(bankAccounts);
+        for (BankAccount bankAccount : bankAccounts) {
+            auditTrail.record(AuditAction.SAVE, "SaveBankAccounts.execute", AuditTrail.accountId(bankAccount.getId()));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authorization.method.HandleAuthorizationDenied;
@@ -20,6 +21,13 @@ public class BankAccount {
     private String owner;
     private String accountNumber;
     private double balance;
+    // assigned by the store, higher on every save of the same id (not necessarily by one); 0 when never saved
+    @EqualsAndHashCode.Exclude
+    private long version;
+
+    public BankAccount(Integer id, String owner, String accountNumber, double balance) {
+        this(id, owner, accountNumber, balance, 0);
+    }
 
     @PreAuthorize("this.owner == authentication?.name")
     @HandleAuthorizationDenied(handlerClass = MaskAuthorizationDeniedHandler.class)
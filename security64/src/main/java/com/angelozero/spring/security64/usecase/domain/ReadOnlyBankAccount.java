@@ -0,0 +1,37 @@
+package com.angelozero.spring.security64.usecase.domain;
+
+public final class ReadOnlyBankAccount extends BankAccount {
+
+    public ReadOnlyBankAccount(Integer id, String owner, String accountNumber, double balance, long version) {
+        super(id, owner, accountNumber, balance, version);
+    }
+
+    @Override
+    public void setId(Integer id) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setOwner(String owner) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setAccountNumber(String accountNumber) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setBalance(double balance) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setVersion(long version) {
+        throw readOnly();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Bank account views are read only");
+    }
+}
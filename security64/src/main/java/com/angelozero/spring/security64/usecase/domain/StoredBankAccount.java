@@ -0,0 +1,42 @@
+package com.angelozero.spring.security64.usecase.domain;
+
+/**
+ * The instance an account store keeps and hands out. It is shared by every caller reading the account (and by the
+ * read cache), so its setters throw: a change is a new {@link BankAccount} saved to the store. Not final, so
+ * {@code @AuthorizeReturnObject} can still proxy it.
+ */
+public class StoredBankAccount extends BankAccount {
+
+    public StoredBankAccount(Integer id, String owner, String accountNumber, double balance, long version) {
+        super(id, owner, accountNumber, balance, version);
+    }
+
+    @Override
+    public void setId(Integer id) {
+        throw stored();
+    }
+
+    @Override
+    public void setOwner(String owner) {
+        throw stored();
+    }
+
+    @Override
+    public void setAccountNumber(String accountNumber) {
+        throw stored();
+    }
+
+    @Override
+    public void setBalance(double balance) {
+        throw stored();
+    }
+
+    @Override
+    public void setVersion(long version) {
+        throw stored();
+    }
+
+    private static UnsupportedOperationException stored() {
+        return new UnsupportedOperationException("Stored bank accounts are shared, save a new one instead");
+    }
+}
@@ -1,18 +1,29 @@
 package com.angelozero.spring.security64.zzz;
 
+import com.angelozero.spring.security64.audit.AuditAction;
+import com.angelozero.spring.security64.audit.AuditTrail;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.function.Function;
+
 @Service
+@AllArgsConstructor
 public class BankAccountService implements BankAccountInterface {
 
+    private final AuditTrail auditTrail;
+    private final Cache<Integer, BankAccountData> bankAccountDataCache;
+    private final Function<Integer, BankAccountData> loader = this::load;
+
     @Override
     public BankAccountData findById(Integer id) {
-        return BankAccountData.builder()
-                .id(id)
-                .accountNumber("1234")
-                .owner("angelo")
-                .balance(1000D)
-                .build();
+        return bankAccountDataCache.get(id, loader);
+    }
+
+    // read only, since the cache hands the same instance to every caller
+    private BankAccountData load(Integer id) {
+        return new StoredBankAccountData(id, "angelo", "1234", 1000D);
     }
 
     @Override
@@ -22,11 +33,13 @@ public class BankAccountService implements BankAccountInterface {
 
     @Override
     public void saveBankAccount(BankAccountData bankAccountDataToSave) {
-        System.out.println("Bank Account saved with success");
+        bankAccountDataCache.invalidate(AuditTrail.accountId(bankAccountDataToSave.getId()));
+        auditTrail.record(AuditAction.SAVE, "BankAccountService.saveBankAccount", AuditTrail.accountId(bankAccountDataToSave.getId()));
     }
 
     @Override
     public void updateBankAccount(BankAccountData bankAccountDataToUpdate) {
-        System.out.println("Bank Account updated with success");
+        bankAccountDataCache.invalidate(AuditTrail.accountId(bankAccountDataToUpdate.getId()));
+        auditTrail.record(AuditAction.UPDATE, "BankAccountService.updateBankAccount", AuditTrail.accountId(bankAccountDataToUpdate.getId()));
     }
 }
@@ -0,0 +1,32 @@
+package com.angelozero.spring.security64.zzz;
+
+public final class ReadOnlyBankAccountData extends BankAccountData {
+
+    public ReadOnlyBankAccountData(Integer id, String owner, String accountNumber, Double balance) {
+        super(id, owner, accountNumber, balance);
+    }
+
+    @Override
+    public void setId(Integer id) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setOwner(String owner) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setAccountNumber(String accountNumber) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setBalance(Double balance) {
+        throw readOnly();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Bank account views are read only");
+    }
+}
@@ -0,0 +1,38 @@
+package com.angelozero.spring.security64.zzz;
+
+/**
+ * The instance {@link BankAccountService} caches and hands out. Every caller of the same id gets it, through the
+ * authorization proxy that passes setters on, so its setters throw: a change goes through
+ * {@link BankAccountInterface#updateBankAccount(BankAccountData)}. Not final, so {@code @AuthorizeReturnObject}
+ * can still proxy it.
+ */
+public class StoredBankAccountData extends BankAccountData {
+
+    public StoredBankAccountData(Integer id, String owner, String accountNumber, Double balance) {
+        super(id, owner, accountNumber, balance);
+    }
+
+    @Override
+    public void setId(Integer id) {
+        throw stored();
+    }
+
+    @Override
+    public void setOwner(String owner) {
+        throw stored();
+    }
+
+    @Override
+    public void setAccountNumber(String accountNumber) {
+        throw stored();
+    }
+
+    @Override
+    public void setBalance(Double balance) {
+        throw stored();
+    }
+
+    private static UnsupportedOperationException stored() {
+        return new UnsupportedOperationException("Cached bank accounts are shared, update the account instead");
+    }
+}
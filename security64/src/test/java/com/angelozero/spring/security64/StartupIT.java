@@ -0,0 +1,113 @@
+package com.angelozero.spring.security64;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// run by failsafe in the aot profile, against the jar and archive that profile just built
+public class StartupIT {
+
+    private static final Pattern STARTED = Pattern.compile("Started Security64Application in ([0-9.]+) seconds");
+    private static final Pattern PORT = Pattern.compile("Tomcat started on port (\\d+)");
+    private static final Pattern TIMESTAMP = Pattern.compile("\"timestamp\":\"[^\"]*\"");
+    private static final int STARTS = 2;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldStartFasterWithAotAndCdsAndBehaveTheSame() throws Exception {
+        String jar = System.getProperty("security64.startup.jar");
+        assumeTrue(jar != null, "security64.startup.jar is only set by the aot profile");
+        Path archive = Path.of(jar).resolveSibling("application.jsa");
+        assertTrue(Files.exists(archive), STR."No CDS archive at \{archive}");
+
+        double plain = Double.MAX_VALUE;
+        double optimized = Double.MAX_VALUE;
+        Map<String, String> plainResponses = null;
+        Map<String, String> optimizedResponses = null;
+        for (int run = 0; run < STARTS; run++) {
+            try (Started started = start(jar, List.of())) {
+                plain = Math.min(plain, started.seconds());
+                plainResponses = exercise(started.port());
+            }
+            try (Started started = start(jar, List.of(STR."-XX:SharedArchiveFile=\{archive}", "-Xshare:on", "-Dspring.aot.enabled=true"))) {
+                optimized = Math.min(optimized, started.seconds());
+                optimizedResponses = exercise(started.port());
+            }
+        }
+
+        assertEquals(plainResponses, optimizedResponses);
+        assertTrue(optimized < plain, STR."AOT and CDS started in \{optimized}s, a plain start took \{plain}s");
+    }
+
+    private Map<String, String> exercise(int port) throws Exception {
+        Map<String, String> responses = new LinkedHashMap<>();
+        for (String user : List.of("angelo:password-123", "jake:password-456", "dumb:password-789")) {
+            for (String path : List.of("/1", "/2", "?ids=1,2", "/export")) {
+                HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(STR."http://localhost:\{port}/api/v1/bank-account\{path}"))
+                        .header("Authorization", STR."Basic \{Base64.getEncoder().encodeToString(user.getBytes(StandardCharsets.UTF_8))}")
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                responses.put(STR."\{user} GET \{path}",
+                        STR."\{response.statusCode()} \{TIMESTAMP.matcher(response.body()).replaceAll("")}");
+            }
+        }
+        return responses;
+    }
+
+    private Started start(String jar, List<String> options) throws Exception {
+        List<String> command = new ArrayList<>(List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        String jvmArguments = System.getProperty("security64.startup.jvm-arguments", "");
+        if (!jvmArguments.isBlank()) {
+            command.addAll(List.of(jvmArguments.trim().split("\\s+")));
+        }
+        command.addAll(options);
+        command.addAll(List.of("-jar", jar, "--server.port=0", STR."--security64.audit.directory=\{directory.resolve("audit")}"));
+
+        Path log = Files.createTempFile(directory, "startup", ".log");
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (System.nanoTime() < deadline && process.isAlive()) {
+            String output = Files.readString(log);
+            Matcher started = STARTED.matcher(output);
+            Matcher port = PORT.matcher(output);
+            if (started.find() && port.find()) {
+                return new Started(process, Double.parseDouble(started.group(1)), Integer.parseInt(port.group(1)));
+            }
+            Thread.sleep(100);
+        }
+        process.destroyForcibly();
+        return fail(STR."\{command} did not start:\n\{Files.readString(log)}");
+    }
+
+    private record Started(Process process, double seconds, int port) implements AutoCloseable {
+
+        @Override
+        public void close() throws InterruptedException {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.angelozero.spring.security64.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class AuditTrailTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldDrainEveryEventRecordedConcurrentlyInProducerOrder() {
+        AuditTrail auditTrail = new AuditTrail(1 << 17);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 8).forEach((producer) -> executor.submit(() -> IntStream.range(0, 10_000)
+                    .forEach((id) -> auditTrail.record(AuditAction.SAVE, STR."user-\{producer}", "target", id))));
+        }
+
+        List<AuditEvent> events = new ArrayList<>();
+        auditTrail.drain(events::add, Integer.MAX_VALUE);
+
+        assertEquals(80_000, events.size());
+        assertEquals(0, auditTrail.getDropped());
+        for (int producer = 0; producer < 8; producer++) {
+            String principal = STR."user-\{producer}";
+            List<Integer> ids = events.stream().filter((event) -> event.principal().equals(principal)).map(AuditEvent::accountId).toList();
+            assertEquals(IntStream.range(0, 10_000).boxed().toList(), ids);
+        }
+    }
+
+    @Test
+    void shouldDropEventsWhenTheConsumerIsAWholeRingBehind() {
+        AuditTrail auditTrail = new AuditTrail(4);
+        IntStream.range(0, 4).forEach((id) -> assertTrue(auditTrail.record(AuditAction.DENIED, "jake", "target", id)));
+
+        assertFalse(auditTrail.record(AuditAction.DENIED, "jake", "target", 4));
+        assertEquals(1, auditTrail.getDropped());
+
+        assertEquals(1, auditTrail.drain((event) -> assertEquals(0, event.accountId()), 1));
+        assertTrue(auditTrail.record(AuditAction.DENIED, "jake", "target", 5));
+        assertEquals(4, auditTrail.drain((event) -> { }, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void shouldKeepTheAccountIdOrItsAbsence() {
+        AuditTrail auditTrail = new AuditTrail(4);
+        auditTrail.record(AuditAction.SAVE, "angelo", "target", 100_000);
+        auditTrail.record(AuditAction.DENIED, "jake", "target", AuditTrail.NO_ACCOUNT);
+
+        List<AuditEvent> events = new ArrayList<>();
+        auditTrail.drain(events::add, Integer.MAX_VALUE);
+        assertEquals(100_000, events.get(0).accountId());
+        assertNull(events.get(1).accountId());
+    }
+
+    @Test
+    void shouldWriteNdjsonAndRotateFiles() throws Exception {
+        AuditTrail auditTrail = new AuditTrail(1024);
+        try (AuditFileWriter ignored = new AuditFileWriter(auditTrail, directory, 512, 3, Duration.ofMillis(1))) {
+            for (int id = 0; id < 100; id++) {
+                auditTrail.record(AuditAction.MASKED, "dumb", "BankAccount.getAccountNumber", id);
+                Thread.sleep(id % 10 == 0 ? 5 : 0);
+            }
+        }
+
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.sorted().toList();
+        }
+        assertTrue(files.size() > 1 && files.size() <= 3, files.toString());
+
+        List<String> lines = new ArrayList<>();
+        for (Path file : files) {
+            lines.addAll(Files.readAllLines(file));
+        }
+        JsonNode last = new ObjectMapper().readTree(lines.getLast());
+        assertEquals("masked", last.get("action").asText());
+        assertEquals("dumb", last.get("principal").asText());
+        assertEquals("BankAccount.getAccountNumber", last.get("target").asText());
+        assertEquals(99, last.get("accountId").asInt());
+    }
+
+    @Test
+    void shouldKeepWritingOnceTheAuditDirectoryIsBack() throws Exception {
+        AuditTrail auditTrail = new AuditTrail(1024);
+        Path audit = directory.resolve("audit");
+        try (AuditFileWriter ignored = new AuditFileWriter(auditTrail, audit, 1, 100, Duration.ofMillis(1))) {
+            auditTrail.record(AuditAction.SAVE, "angelo", "SaveBankAccount.execute", 1);
+            awaitFiles(audit, 2);
+
+            // the open file is unlinked, the event filling it rotates into a directory that is now a plain file
+            try (Stream<Path> files = Files.list(audit)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(audit);
+            Files.writeString(audit, "");
+            auditTrail.record(AuditAction.SAVE, "angelo", "SaveBankAccount.execute", 2);
+            Thread.sleep(50);
+
+            Files.delete(audit);
+            Files.createDirectory(audit);
+            auditTrail.record(AuditAction.SAVE, "angelo", "SaveBankAccount.execute", 3);
+            awaitFiles(audit, 2);
+        }
+
+        List<String> lines = new ArrayList<>();
+        try (Stream<Path> files = Files.list(audit)) {
+            for (Path file : files.sorted().toList()) {
+                lines.addAll(Files.readAllLines(file));
+            }
+        }
+        assertEquals(3, new ObjectMapper().readTree(lines.getFirst()).get("accountId").asInt(), lines.toString());
+    }
+
+    private static void awaitFiles(Path directory, int count) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (Files.isDirectory(directory)) {
+                try (Stream<Path> files = Files.list(directory)) {
+                    if (files.count() >= count) {
+                        return;
+                    }
+                }
+            }
+            Thread.sleep(5);
+        }
+        fail(STR."Fewer than \{count} files in \{directory}");
+    }
+}
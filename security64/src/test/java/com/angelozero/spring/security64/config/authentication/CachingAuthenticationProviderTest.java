@@ -0,0 +1,129 @@
+package com.angelozero.spring.security64.config.authentication;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingAuthenticationProviderTest {
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private final CredentialCache credentialCache = new CredentialCache(Duration.ofMinutes(5), 100);
+
+    private final CacheInvalidatingUserDetailsManager userDetailsManager = new CacheInvalidatingUserDetailsManager(
+            new InMemoryUserDetailsManager(User.withUsername("angelo").password("{noop}password-123").roles("MASTER").build()),
+            credentialCache);
+
+    private final AuthenticationProvider authenticationProvider = new CachingAuthenticationProvider(counting(), credentialCache);
+
+    @Test
+    void shouldVerifyTheSameCredentialsOnlyOnce() {
+        Authentication first = authenticationProvider.authenticate(token("angelo", "password-123"));
+        Authentication second = authenticationProvider.authenticate(token("angelo", "password-123"));
+
+        assertEquals(1, verifications.get());
+        assertTrue(second.isAuthenticated());
+        assertEquals(first.getName(), second.getName());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+    }
+
+    @Test
+    void shouldNeverCacheFailures() {
+        assertThatExceptionOfType(BadCredentialsException.class)
+                .isThrownBy(() -> authenticationProvider.authenticate(token("angelo", "wrong")));
+        assertThatExceptionOfType(BadCredentialsException.class)
+                .isThrownBy(() -> authenticationProvider.authenticate(token("angelo", "wrong")));
+
+        assertEquals(2, verifications.get());
+        assertEquals(0, credentialCache.size());
+    }
+
+    @Test
+    void shouldVerifyAgainAfterThePasswordChanges() {
+        authenticationProvider.authenticate(token("angelo", "password-123"));
+        userDetailsManager.updateUser(User.withUsername("angelo").password("{noop}password-321").roles("MASTER").build());
+
+        assertThatExceptionOfType(BadCredentialsException.class)
+                .isThrownBy(() -> authenticationProvider.authenticate(token("angelo", "password-123")));
+        assertTrue(authenticationProvider.authenticate(token("angelo", "password-321")).isAuthenticated());
+        assertEquals(3, verifications.get());
+    }
+
+    @Test
+    void shouldVerifyAgainOnceTheEntryExpires() {
+        CachingAuthenticationProvider expiring = new CachingAuthenticationProvider(counting(), new CredentialCache(Duration.ZERO, 100));
+        expiring.authenticate(token("angelo", "password-123"));
+        expiring.authenticate(token("angelo", "password-123"));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void shouldForgetTheGenerationOfUsersWithoutCachedCredentials() {
+        AtomicLong nanos = new AtomicLong();
+        CredentialCache cache = new CredentialCache(Duration.ofMinutes(5), 2, nanos::get, Runnable::run);
+        Authentication authenticated = authenticationProvider.authenticate(token("angelo", "password-123"));
+        long generation = cache.generation("angelo");
+        cache.put("angelo", "password-123", generation, authenticated);
+        cache.invalidate("angelo");
+        assertEquals(1, cache.trackedUsers());
+
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+        assertNull(cache.get("angelo", "password-123"));
+        assertEquals(0, cache.trackedUsers());
+
+        // a verification that started before the invalidation must not be cached once the generation is forgotten
+        cache.put("angelo", "password-123", generation, authenticated);
+        assertNull(cache.get("angelo", "password-123"));
+        assertEquals(0, cache.trackedUsers());
+    }
+
+    @Test
+    void shouldStayWithinTheMaximumSize() {
+        CredentialCache cache = new CredentialCache(Duration.ofMinutes(5), 2, System::nanoTime, Runnable::run);
+        Authentication authenticated = authenticationProvider.authenticate(token("angelo", "password-123"));
+        for (int i = 0; i < 100; i++) {
+            String username = STR."user-\{i}";
+            cache.put(username, "password", cache.generation(username), authenticated);
+        }
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.trackedUsers());
+    }
+
+    private AuthenticationProvider counting() {
+        DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
+        daoAuthenticationProvider.setUserDetailsService(userDetailsManager);
+        return new AuthenticationProvider() {
+
+            @Override
+            public Authentication authenticate(Authentication authentication) {
+                verifications.incrementAndGet();
+                return daoAuthenticationProvider.authenticate(authentication);
+            }
+
+            @Override
+            public boolean supports(Class<?> authentication) {
+                return daoAuthenticationProvider.supports(authentication);
+            }
+        };
+    }
+
+    private static UsernamePasswordAuthenticationToken token(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
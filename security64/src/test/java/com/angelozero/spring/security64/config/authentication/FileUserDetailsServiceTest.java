@@ -0,0 +1,97 @@
+package com.angelozero.spring.security64.config.authentication;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FileUserDetailsServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldLoadUsersIntoSharedImmutableInstances() throws Exception {
+        Path file = write("users.properties", """
+                # sample users
+                angelo={noop}password-123,ROLE_MASTER
+                jake={noop}password-456,ROLE_TOP
+                dumb={noop}password-789,ROLE_UP,disabled
+                jake={noop}password-654,ROLE_TOP,ROLE_UP
+                """);
+
+        try (FileUserDetailsService userDetailsService = new FileUserDetailsService(file, Duration.ofHours(1), (username) -> { })) {
+            UserDetails jake = userDetailsService.loadUserByUsername("jake");
+
+            assertEquals("{noop}password-654", jake.getPassword());
+            assertEquals(AuthorityUtils.createAuthorityList("ROLE_TOP", "ROLE_UP"), jake.getAuthorities());
+            assertSame(jake, userDetailsService.loadUserByUsername("jake"));
+            assertFalse(userDetailsService.loadUserByUsername("dumb").isEnabled());
+            assertThatExceptionOfType(UsernameNotFoundException.class)
+                    .isThrownBy(() -> userDetailsService.loadUserByUsername("nobody"));
+        }
+    }
+
+    @Test
+    void shouldFindEveryUserOfALargeFile() throws Exception {
+        Path file = write("users.properties", IntStream.range(0, 100_000)
+                .mapToObj((user) -> STR."user-\{user}={noop}secret-\{user},ROLE_\{user % 10}")
+                .collect(Collectors.joining("\n")));
+
+        try (FileUserDetailsService userDetailsService = new FileUserDetailsService(file, Duration.ofHours(1), (username) -> { })) {
+            assertEquals(100_000, userDetailsService.size());
+            for (int user = 0; user < 100_000; user += 997) {
+                UserDetails details = userDetailsService.loadUserByUsername(STR."user-\{user}");
+                assertEquals(STR."{noop}secret-\{user}", details.getPassword());
+                assertEquals(STR."ROLE_\{user % 10}", details.getAuthorities().iterator().next().getAuthority());
+            }
+        }
+    }
+
+    @Test
+    void shouldReloadAndReportChangedUsers() throws Exception {
+        Path file = write("users.properties", """
+                angelo={noop}password-123,ROLE_MASTER
+                jake={noop}password-456,ROLE_TOP
+                dumb={noop}password-789,ROLE_UP
+                """);
+        List<String> changed = new ArrayList<>();
+
+        try (FileUserDetailsService userDetailsService = new FileUserDetailsService(file, Duration.ofHours(1), changed::add)) {
+            UserDetails angelo = userDetailsService.loadUserByUsername("angelo");
+            Files.move(write("users.next", """
+                    angelo={noop}password-123,ROLE_MASTER
+                    jake={noop}password-456,ROLE_TOP,ROLE_UP
+                    bob={noop}password-000,ROLE_TOP
+                    """), file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            assertTrue(userDetailsService.reload());
+            assertFalse(userDetailsService.reload());
+            assertEquals(List.of("jake", "dumb"), changed);
+            assertEquals("{noop}password-000", userDetailsService.loadUserByUsername("bob").getPassword());
+            assertEquals(angelo.getAuthorities(), userDetailsService.loadUserByUsername("angelo").getAuthorities());
+            assertThatExceptionOfType(UsernameNotFoundException.class)
+                    .isThrownBy(() -> userDetailsService.loadUserByUsername("dumb"));
+        }
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(directory.resolve(name), content);
+    }
+}
@@ -0,0 +1,102 @@
+package com.angelozero.spring.security64.config.authentication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "security64.authentication.token.enabled=true")
+@AutoConfigureMockMvc
+public class SignedTokenServiceTest {
+
+    private static final String OLD_KEY = Base64.getEncoder().encodeToString("old-secret-old-secret-old-secret".getBytes());
+    private static final String NEW_KEY = Base64.getEncoder().encodeToString("new-secret-new-secret-new-secret".getBytes());
+
+    private final Authentication angelo = UsernamePasswordAuthenticationToken.authenticated(
+            "angelo", null, AuthorityUtils.createAuthorityList("ROLE_MASTER", "ROLE_ADMIN"));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldAuthenticateWithTheTokenIssuedForBasicCredentials() throws Exception {
+        String response = mockMvc.perform(post("/api/v1/auth/token").with(httpBasic("angelo", "password-123")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(response).get("token").asText();
+
+        mockMvc.perform(get("/api/v1/bank-account/1").header("Authorization", STR."Bearer \{token}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("123"));
+        mockMvc.perform(get("/api/v1/bank-account/2").header("Authorization", STR."Bearer \{token}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("****"));
+    }
+
+    @Test
+    void shouldRejectTamperedTokens() throws Exception {
+        SignedTokenService signedTokenService = service(Map.of("new", NEW_KEY), "new", Instant.now());
+        String token = signedTokenService.issue(angelo).token();
+        String tampered = token.replaceFirst("\\.[^.]+\\.", STR.".\{Long.MAX_VALUE / 2}.");
+
+        assertNull(signedTokenService.verify(tampered));
+        mockMvc.perform(get("/api/v1/bank-account/1").header("Authorization", STR."Bearer \{tampered}"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/bank-account/1").header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldCarryUsernameAndRoles() {
+        SignedTokenService signedTokenService = service(Map.of("new", NEW_KEY), "new", Instant.now());
+        Authentication authentication = signedTokenService.verify(signedTokenService.issue(angelo).token());
+
+        assertEquals("angelo", authentication.getName());
+        assertEquals(angelo.getAuthorities(), authentication.getAuthorities());
+    }
+
+    @Test
+    void shouldRejectExpiredTokens() {
+        Instant now = Instant.now();
+        String token = service(Map.of("new", NEW_KEY), "new", now).issue(angelo).token();
+
+        assertNull(service(Map.of("new", NEW_KEY), "new", now.plus(Duration.ofMinutes(16))).verify(token));
+    }
+
+    @Test
+    void shouldAcceptTokensSignedWithARotatedOutKeyWhileItIsStillConfigured() {
+        Instant now = Instant.now();
+        String token = service(Map.of("old", OLD_KEY), "old", now).issue(angelo).token();
+
+        assertEquals("angelo", service(Map.of("old", OLD_KEY, "new", NEW_KEY), "new", now).verify(token).getName());
+        assertNull(service(Map.of("new", NEW_KEY), "new", now).verify(token));
+    }
+
+    private static SignedTokenService service(Map<String, String> keys, String activeKey, Instant now) {
+        return new SignedTokenService(new SignedTokenProperties(true, Duration.ofMinutes(15), activeKey, keys),
+                Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,62 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.config.WithMockDumb;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class AuthorityBitsTest {
+
+    @Autowired
+    private MethodSecurityExpressionHandler expressionHandler;
+
+    @Test
+    void shouldExpandRolesThroughTheHierarchy() {
+        AuthorityBits authorityBits = new AuthorityBits(RoleHierarchyImpl.fromHierarchy("ROLE_MASTER > ROLE_UP > ROLE_TOP"), "ROLE_");
+        long[] bits = authorityBits.of(new TestingAuthenticationToken("angelo", null, "ROLE_MASTER"));
+
+        assertTrue(authorityBits.hasRole(bits, "MASTER"));
+        assertTrue(authorityBits.hasRole(bits, "UP"));
+        assertTrue(authorityBits.hasRole(bits, "ROLE_TOP"));
+        assertTrue(authorityBits.hasAuthority(bits, "ROLE_TOP"));
+        assertFalse(authorityBits.hasAuthority(bits, "TOP"));
+        assertFalse(authorityBits.hasRole(bits, "ADMIN"));
+    }
+
+    @Test
+    void shouldOnlyPrefixRoles() {
+        AuthorityBits authorityBits = new AuthorityBits(RoleHierarchyImpl.fromHierarchy(""), "ROLE_");
+        Authentication authentication = new TestingAuthenticationToken("jake", null, "READ", "ROLE_TOP");
+        long[] bits = authorityBits.of(authentication);
+
+        assertTrue(authorityBits.hasAuthority(bits, "READ"));
+        assertFalse(authorityBits.hasRole(bits, "READ"));
+        assertTrue(authorityBits.hasRole(bits, "TOP"));
+        assertFalse(authorityBits.hasRole(bits, "UP"));
+        assertSame(bits, authorityBits.of(authentication));
+    }
+
+    @Test
+    @WithMockDumb
+    void shouldAnswerRoleExpressionsFromTheHierarchy() throws Exception {
+        EvaluationContext context = expressionHandler.createEvaluationContext(
+                () -> SecurityContextHolder.getContext().getAuthentication(),
+                new SimpleMethodInvocation(this, Object.class.getMethod("toString")));
+
+        assertTrue(ExpressionUtils.evaluateAsBoolean(expressionHandler.getExpressionParser()
+                .parseExpression("hasAnyRole('ADMIN', 'TOP') and !hasRole('MASTER') and isAuthenticated()"), context));
+    }
+}
@@ -0,0 +1,53 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.usecase.FindBankAccountById;
+import com.angelozero.spring.security64.zzz.BankAccountData;
+import com.angelozero.spring.security64.zzz.BankAccountInterface;
+import com.angelozero.spring.security64.zzz.BankAccountService;
+import com.angelozero.spring.security64.zzz.WithMockUserAngelo;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class AuthorizationExpressionRegistryTest {
+
+    @Autowired
+    private AuthorizationExpressionRegistry expressionRegistry;
+
+    @Autowired
+    private BankAccountInterface service;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldResolveTemplatedExpressionsAtStartup() throws NoSuchMethodException {
+        var update = BankAccountService.class.getMethod("updateBankAccount", BankAccountData.class);
+        assertEquals("#bankAccountDataToUpdate?.owner == authentication?.name",
+                expressionRegistry.expressions(update).preAuthorize().getExpressionString());
+        assertNotNull(expressionRegistry.expressions(FindBankAccountById.class.getMethod("execute", Integer.class)).postAuthorize());
+    }
+
+    @Test
+    @WithMockUserAngelo
+    void shouldServeTheHotPathFromTheRegistry() {
+        long hits = expressionRegistry.getHits();
+        long misses = expressionRegistry.getMisses();
+
+        BankAccountData bankAccount = service.findById(1);
+        for (int i = 0; i < 10; i++) {
+            bankAccount.getAccountNumber();
+        }
+
+        assertTrue(expressionRegistry.getHits() > hits);
+        assertEquals(misses, expressionRegistry.getMisses());
+        assertEquals(expressionRegistry.getHits(), meterRegistry.get("security64.authorization.expressions.lookups")
+                .tag("result", "hit").functionCounter().count());
+    }
+}
@@ -0,0 +1,133 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.audit.AuditTrail;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.aop.Pointcut;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.authorization.method.AuthorizationAdvisor;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AuthorizationMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AuthorizationMetrics authorizationMetrics;
+
+    @Autowired
+    private AuthorizationExpressionRegistry expressionRegistry;
+
+    @Autowired
+    private AuditTrail auditTrail;
+
+    @Test
+    void shouldTimeGrantedDeniedAndMaskedDecisions() throws Exception {
+        long granted = count("PostCheckBankAccountOwner", "granted");
+        long denied = count("PostCheckBankAccountOwner", "denied");
+        long masked = count("PreAuthorize", "masked");
+
+        mockMvc.perform(get("/api/v1/bank-account/1").with(httpBasic("dumb", "password-789")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("****"));
+        mockMvc.perform(get("/api/v1/bank-account/1").with(httpBasic("jake", "password-456")))
+                .andExpect(status().isForbidden());
+
+        assertEquals(granted + 1, count("PostCheckBankAccountOwner", "granted"));
+        assertEquals(denied + 1, count("PostCheckBankAccountOwner", "denied"));
+        assertEquals(masked + 1, count("PreAuthorize", "masked"));
+    }
+
+    @Test
+    void shouldTimeOwnershipChecks() throws Exception {
+        long denied = count("PreCheckBankAccountOwner", "denied");
+
+        mockMvc.perform(post("/api/v1/bank-account/").with(httpBasic("jake", "password-456")).with(csrf())
+                        .contentType("application/json")
+                        .content("{\"id\":1,\"owner\":\"angelo\",\"accountNumber\":\"123\",\"balance\":543}"))
+                .andExpect(status().isForbidden());
+
+        assertEquals(denied + 1, count("PreCheckBankAccountOwner", "denied"));
+    }
+
+    @Test
+    void shouldTimePostAuthorizeDecisionsUnknownToTheRegistry() throws Throwable {
+        Method method = ReflectionUtils.findMethod(String.class, "trim");
+        CompiledPostAuthorizeMethodInterceptor interceptor = new CompiledPostAuthorizeMethodInterceptor(
+                denyingDelegate(), () -> expressionRegistry, () -> authorizationMetrics, () -> auditTrail);
+
+        assertThatExceptionOfType(AuthorizationDeniedException.class)
+                .isThrownBy(() -> interceptor.invoke(new SimpleMethodInvocation(" denied ", method)));
+
+        assertEquals(1, meterRegistry.find(AuthorizationMetrics.TIMER)
+                .tags("method", "String.trim", "annotation", "PostAuthorize", "outcome", "denied")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void shouldExposeTheTimersThroughTheActuator() throws Exception {
+        mockMvc.perform(get("/actuator/metrics/security64.authorization").with(httpBasic("angelo", "password-123")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTags[?(@.tag == 'outcome')].values[*]").isNotEmpty());
+    }
+
+    private static AuthorizationAdvisor denyingDelegate() {
+        return new AuthorizationAdvisor() {
+
+            @Override
+            public Object invoke(MethodInvocation invocation) {
+                throw new AuthorizationDeniedException("Access Denied", new AuthorizationDecision(false));
+            }
+
+            @Override
+            public Pointcut getPointcut() {
+                return Pointcut.TRUE;
+            }
+
+            @Override
+            public Advice getAdvice() {
+                return this;
+            }
+
+            @Override
+            public int getOrder() {
+                return 0;
+            }
+        };
+    }
+
+    private long count(String annotation, String outcome) {
+        return meterRegistry.find(AuthorizationMetrics.TIMER)
+                .tags("annotation", annotation, "outcome", outcome)
+                .timers()
+                .stream()
+                .mapToLong((timer) -> timer.count())
+                .sum();
+    }
+}
@@ -0,0 +1,42 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.config.WithMockAngelo;
+import com.angelozero.spring.security64.config.WithMockDumb;
+import com.angelozero.spring.security64.gateway.FindBankAccountByIdGateway;
+import com.angelozero.spring.security64.usecase.domain.ReadOnlyBankAccount;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest(properties = "security64.authorization.return-object=view")
+public class MaskedViewTargetVisitorTest {
+
+    @Autowired
+    private FindBankAccountByIdGateway findBankAccountById;
+
+    @Test
+    @WithMockAngelo
+    void shouldReturnTheOwnerViewWithoutProxy() {
+        var response = findBankAccountById.execute(1);
+
+        assertInstanceOf(ReadOnlyBankAccount.class, response);
+        assertFalse(AopUtils.isAopProxy(response));
+        assertEquals("123", response.getAccountNumber());
+    }
+
+    @Test
+    @WithMockDumb
+    void shouldReturnTheMaskedView() {
+        var response = findBankAccountById.execute(1);
+
+        assertEquals("****", response.getAccountNumber());
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> response.setAccountNumber("123"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.config.WithMockAngelo;
+import com.angelozero.spring.security64.config.WithMockJake;
+import com.angelozero.spring.security64.gateway.SaveBankAccountGateway;
+import com.angelozero.spring.security64.gateway.SaveBankAccountsGateway;
+import com.angelozero.spring.security64.usecase.GetBankAccountInfo;
+import com.angelozero.spring.security64.usecase.SaveBankAccount;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.angelozero.spring.security64.zzz.BankAccountData;
+import com.angelozero.spring.security64.zzz.BankAccountService;
+import com.angelozero.spring.security64.zzz.PreWriteBankAccount;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class OwnershipAuthorizationManagerTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private OwnershipAuthorizationManager ownershipAuthorizationManager;
+
+    @Autowired
+    private SaveBankAccountGateway saveBankAccount;
+
+    @Autowired
+    private GetBankAccountInfo getBankAccountInfo;
+
+    @Test
+    void shouldCompileOwnershipChecksAtStartup() throws NoSuchMethodException {
+        assertTrue(ownershipAuthorizationManager.isCompiled(SaveBankAccount.class.getMethod("execute", BankAccount.class)));
+        assertTrue(ownershipAuthorizationManager.isCompiled(BankAccountService.class.getMethod("updateBankAccount", BankAccountData.class)));
+        assertInstanceOf(CompiledPreAuthorizeMethodInterceptor.class,
+                applicationContext.getBean(MethodSecurityFastPathPostProcessor.PRE_AUTHORIZE_INTERCEPTOR));
+        assertNotNull(ownershipAuthorizationManager.filter(SaveBankAccountsGateway.class.getMethod("execute", List.class)));
+        assertInstanceOf(CompiledPreFilterMethodInterceptor.class,
+                applicationContext.getBean(MethodSecurityFastPathPostProcessor.PRE_FILTER_INTERCEPTOR));
+    }
+
+    @Test
+    @WithMockAngelo
+    void shouldSaveBankAccountWithSuccess() {
+        saveBankAccount.execute(getBankAccountInfo.execute(1));
+    }
+
+    @Test
+    @WithMockJake
+    void shouldReceiveAccessDenied() {
+        assertThatExceptionOfType(AuthorizationDeniedException.class)
+                .isThrownBy(() -> saveBankAccount.execute(getBankAccountInfo.execute(1)))
+                .withMessage("Access Denied");
+    }
+
+    @Test
+    void shouldFailWhenTheExpressionReferencesAnUnknownParameter() {
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> ownershipAuthorizationManager.register(InvalidWriter.class))
+                .withMessageContaining("#missing");
+    }
+
+    interface InvalidWriter {
+
+        @PreWriteBankAccount("#missing")
+        void write(BankAccount bankAccount);
+    }
+}
@@ -0,0 +1,54 @@
+package com.angelozero.spring.security64.config.authorization;
+
+import com.angelozero.spring.security64.config.WithMockAngelo;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authorization.method.AuthorizationAdvisorProxyFactory;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "security64.authorization.return-object=proxy")
+public class RequestDecisionMemoTest {
+
+    @Autowired
+    private AuthorizationAdvisorProxyFactory proxyFactory;
+
+    @AfterEach
+    void cleanUp() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @WithMockAngelo
+    void shouldDecideTheFieldRuleOncePerRequestAndOwner() {
+        BankAccount account = (BankAccount) proxyFactory.proxy(new BankAccount(3, "jake", "333", 3));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertEquals("****", account.getAccountNumber());
+        account.setOwner("angelo");
+        assertEquals("333", account.getAccountNumber());
+        account.setOwner("jake");
+        assertEquals("****", account.getAccountNumber());
+        account.setOwner("angelo");
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertEquals("333", account.getAccountNumber());
+    }
+
+    @Test
+    @WithMockAngelo
+    void shouldDecideOnEveryCallOutsideOfARequest() {
+        RequestContextHolder.resetRequestAttributes();
+        BankAccount account = (BankAccount) proxyFactory.proxy(new BankAccount(3, "jake", "333", 3));
+
+        assertEquals("****", account.getAccountNumber());
+        account.setOwner("angelo");
+        assertEquals("333", account.getAccountNumber());
+    }
+}
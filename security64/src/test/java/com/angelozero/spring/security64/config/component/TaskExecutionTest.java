@@ -0,0 +1,85 @@
+package com.angelozero.spring.security64.config.component;
+
+import com.angelozero.spring.security64.config.WithMockAngelo;
+import com.angelozero.spring.security64.gateway.FindBankAccountByIdGateway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+public class TaskExecutionTest {
+
+    private static final int THREADS = 10_000;
+
+    private static final List<String[]> USERS = List.of(
+            new String[]{"angelo", "ROLE_MASTER", "123"},
+            new String[]{"dumb", "ROLE_UP", "****"},
+            new String[]{"jake", "ROLE_TOP", "denied"});
+
+    @Autowired
+    private FindBankAccountByIdGateway findBankAccountById;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Test
+    void shouldKeepEachVirtualThreadOnItsOwnAuthentication() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Boolean>> results = IntStream.range(0, THREADS).mapToObj((i) -> executor.submit(() -> {
+                String[] user = USERS.get(i % USERS.size());
+                SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                        user[0], null, AuthorityUtils.createAuthorityList(user[1])));
+                start.await();
+                Thread.yield();
+                return user[2].equals(accountNumberOfFirstAccount());
+            })).toList();
+            start.countDown();
+
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        }
+    }
+
+    @Test
+    @WithMockAngelo
+    void shouldRunApplicationTasksOnVirtualThreadsAsTheSubmittingUser() throws Exception {
+        List<Future<String>> results = IntStream.range(0, THREADS)
+                .mapToObj((i) -> applicationTaskExecutor.submit(() -> {
+                    assertTrue(Thread.currentThread().isVirtual());
+                    return accountNumberOfFirstAccount();
+                }))
+                .toList();
+
+        for (Future<String> result : results) {
+            assertEquals("123", result.get());
+        }
+        assertEquals("angelo", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    private String accountNumberOfFirstAccount() {
+        try {
+            return findBankAccountById.execute(1).getAccountNumber();
+        } catch (AuthorizationDeniedException e) {
+            return "denied";
+        }
+    }
+}
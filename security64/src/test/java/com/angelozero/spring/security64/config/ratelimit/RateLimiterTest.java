@@ -0,0 +1,69 @@
+package com.angelozero.spring.security64.config.ratelimit;
+
+import com.angelozero.spring.security64.config.ratelimit.RateLimitProperties.Limit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "security64.rate-limit.tiers[ROLE_UP].rate=0.01",
+        "security64.rate-limit.tiers[ROLE_UP].burst=2"})
+@AutoConfigureMockMvc
+public class RateLimiterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldAdmitABurstThenOneRequestPerInterval() {
+        Limit limit = new Limit(10, 2);
+        long start = 1_000;
+        TokenBucket bucket = new TokenBucket(start);
+
+        assertEquals(0, bucket.tryAcquire(start, limit));
+        assertEquals(0, bucket.tryAcquire(start, limit));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.tryAcquire(start, limit));
+        assertEquals(0, bucket.tryAcquire(start + TimeUnit.MILLISECONDS.toNanos(100), limit));
+        assertEquals(0, bucket.tryAcquire(start + TimeUnit.SECONDS.toNanos(10), new Limit(1000, 1)));
+    }
+
+    @Test
+    void shouldRejectPrincipalsOverTheLimitOfTheirTierUntilItIsRaised() throws Exception {
+        for (int request = 0; request < 2; request++) {
+            mockMvc.perform(get("/api/v1/bank-account/1").with(httpBasic("dumb", "password-789")))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/v1/bank-account/1").with(httpBasic("dumb", "password-789")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "100"));
+        mockMvc.perform(get("/api/v1/bank-account/1").with(httpBasic("angelo", "password-123")))
+                .andExpect(status().isOk());
+        assertEquals(1, meterRegistry.get(RateLimiter.COUNTER).tag("tier", "ROLE_UP").counter().count());
+
+        // the bucket left empty by the old limit refills at the new rate, from empty
+        rateLimiter.setLimit("ROLE_UP", new Limit(1000, 10));
+        mockMvc.perform(get("/api/v1/bank-account/1").with(httpBasic("dumb", "password-789")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+        Thread.sleep(2);
+        mockMvc.perform(get("/api/v1/bank-account/1").with(httpBasic("dumb", "password-789")))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,157 @@
+package com.angelozero.spring.security64.entrypoint;
+
+import com.angelozero.spring.security64.store.AccountStore;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BankAccountControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountStore accountStore;
+
+    @Test
+    void shouldSaveTheOwnedAccountsOfABulkArray() throws Exception {
+        mockMvc.perform(post("/api/v1/bank-account/bulk").with(httpBasic("jake", "password-456")).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"id":100,"owner":"jake","accountNumber":"100","balance":1},
+                                 {"id":101,"owner":"angelo","accountNumber":"101","balance":1},
+                                 {"owner":"jake","accountNumber":"102","balance":1},
+                                 {"id":103,"owner":"jake","accountNumber":"103","balance":1}]"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.rejected[0].index").value(1))
+                .andExpect(jsonPath("$.rejected[0].id").value(101))
+                .andExpect(jsonPath("$.rejected[0].reason").value("FORBIDDEN"))
+                .andExpect(jsonPath("$.rejected[1].index").value(2))
+                .andExpect(jsonPath("$.rejected[1].reason").value("INVALID"));
+
+        assertEquals("jake", accountStore.findById(100).getOwner());
+        assertNull(accountStore.findById(101));
+        assertEquals("103", accountStore.findById(103).getAccountNumber());
+    }
+
+    @Test
+    void shouldSaveNdjsonInSeveralBatches() throws Exception {
+        String lines = IntStream.range(1_000, 3_500)
+                .mapToObj((id) -> STR."{\"id\":\{id},\"owner\":\"\{id % 500 == 0 ? "jake" : "angelo"}\",\"accountNumber\":\"\{id}\",\"balance\":\{id}}")
+                .collect(Collectors.joining("\n"));
+
+        mockMvc.perform(post("/api/v1/bank-account/bulk").with(httpBasic("angelo", "password-123")).with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(lines))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2_495))
+                .andExpect(jsonPath("$.rejected.length()").value(5))
+                .andExpect(jsonPath("$.rejected[4].index").value(2_000))
+                .andExpect(jsonPath("$.rejected[4].id").value(3_000));
+
+        assertEquals(3_499, accountStore.findById(3_499).getBalance());
+        assertNull(accountStore.findById(3_000));
+    }
+
+    @Test
+    void shouldAnswerAnUnchangedAccountWithNotModifiedUntilItIsSaved() throws Exception {
+        accountStore.save(new BankAccount(200, "angelo", "200", 1));
+        String etag = mockMvc.perform(get("/api/v1/bank-account/200").with(httpBasic("dumb", "password-789")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("****"))
+                .andExpect(jsonPath("$.version").value(1))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/bank-account/200").with(httpBasic("dumb", "password-789")).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/v1/bank-account/200").with(httpBasic("jake", "password-456")).header("If-None-Match", etag))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/bank-account/200").with(httpBasic("angelo", "password-123")).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.accountNumber").value("200"));
+
+        accountStore.save(new BankAccount(200, "angelo", "200", 2));
+        mockMvc.perform(get("/api/v1/bank-account/200").with(httpBasic("dumb", "password-789")).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.balance").value(2))
+                .andExpect(jsonPath("$.version").value(2));
+    }
+
+    @Test
+    void shouldRejectAnUnreadableBulk() throws Exception {
+        mockMvc.perform(post("/api/v1/bank-account/bulk").with(httpBasic("angelo", "password-123")).with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"id\":4000,\"owner\":\"angelo\"}\n{\"id\":"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectMissingOrTooManyIdsBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/api/v1/bank-account").param("ids", "1,,2").with(httpBasic("angelo", "password-123")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/bank-account/batch").with(httpBasic("angelo", "password-123")).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON).content("[1,null]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/bank-account/batch").with(httpBasic("angelo", "password-123")).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(IntStream.rangeClosed(0, RequestedIds.MAX_IDS).mapToObj(String::valueOf).collect(Collectors.joining(",", "[", "]"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldListTheAccountsOfAnOwnerPageByPage() throws Exception {
+        IntStream.of(305, 301, 304, 302, 303).forEach((id) -> accountStore.save(new BankAccount(id, "lister", String.valueOf(id), id)));
+        accountStore.save(new BankAccount(302, "angelo", "302", 302));
+
+        String next = JsonPath.read(mockMvc.perform(get("/api/v1/bank-account").param("owner", "lister").param("limit", "2")
+                        .with(httpBasic("angelo", "password-123")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts[*].id").value(contains(301, 303)))
+                .andExpect(jsonPath("$.accounts[0].accountNumber").value("****"))
+                .andReturn().getResponse().getContentAsString(), "$.next");
+        next = JsonPath.read(mockMvc.perform(get("/api/v1/bank-account").param("owner", "lister").param("limit", "2")
+                        .param("cursor", next).with(httpBasic("dumb", "password-789")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts[*].id").value(contains(304, 305)))
+                .andReturn().getResponse().getContentAsString(), "$.next");
+        mockMvc.perform(get("/api/v1/bank-account").param("owner", "lister").param("limit", "2")
+                        .param("cursor", next).with(httpBasic("angelo", "password-123")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts").isEmpty())
+                .andExpect(jsonPath("$.next").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/bank-account").param("owner", "angelo").param("cursor", next)
+                        .with(httpBasic("angelo", "password-123")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/bank-account").param("owner", "lister").with(httpBasic("jake", "password-456")))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,79 @@
+package com.angelozero.spring.security64.entrypoint;
+
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+public class ReactiveBankAccountControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void shouldFindBankAccountMaskingTheOnesNotOwned() {
+        webTestClient.get().uri("/api/v1/bank-account/1").headers((headers) -> headers.setBasicAuth("angelo", "password-123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.accountNumber").isEqualTo("123");
+
+        webTestClient.get().uri("/api/v1/bank-account/1").headers((headers) -> headers.setBasicAuth("dumb", "password-789"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.accountNumber").isEqualTo("****");
+    }
+
+    @Test
+    void shouldReceiveAccessDenied() {
+        webTestClient.get().uri("/api/v1/bank-account/1").headers((headers) -> headers.setBasicAuth("jake", "password-456"))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void shouldStreamTheExport() {
+        List<BankAccount> response = webTestClient.get().uri("/api/v1/bank-account/export")
+                .headers((headers) -> headers.setBasicAuth("angelo", "password-123"))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BankAccount.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(Map.of(1, "123", 2, "****"),
+                response.stream().collect(Collectors.toMap(BankAccount::getId, BankAccount::getAccountNumber)));
+    }
+
+    @Test
+    void shouldOnlyLetTheOwnerSaveTheBankAccount() {
+        BankAccount bankAccount = new BankAccount(1, "angelo", "123", 600);
+
+        webTestClient.mutateWith(csrf()).post().uri("/api/v1/bank-account/").headers((headers) -> headers.setBasicAuth("jake", "password-456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bankAccount)
+                .exchange()
+                .expectStatus().isForbidden();
+
+        webTestClient.mutateWith(csrf()).post().uri("/api/v1/bank-account/").headers((headers) -> headers.setBasicAuth("angelo", "password-123"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bankAccount)
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
@@ -0,0 +1,89 @@
+package com.angelozero.spring.security64.jfr;
+
+import com.angelozero.spring.security64.config.handler.MaskAuthorizationDeniedHandler;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class RecordingAnalyzerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MaskAuthorizationDeniedHandler maskAuthorizationDeniedHandler;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecordDecisionsGatewayCallsAndMaskedReads() throws Exception {
+        Path file = directory.resolve("security64.jfr");
+        try (Reader settings = new InputStreamReader(getClass().getResourceAsStream("/jfr/security64.jfc"), StandardCharsets.UTF_8);
+             Recording recording = new Recording(Configuration.create(settings))) {
+            recording.start();
+            mockMvc.perform(get("/api/v1/bank-account/1").with(httpBasic("jake", "password-456")))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(post("/api/v1/bank-account/").with(httpBasic("angelo", "password-123")).with(csrf())
+                            .contentType("application/json")
+                            .content("{\"id\":1,\"owner\":\"angelo\",\"accountNumber\":\"123\",\"balance\":543}"))
+                    .andExpect(status().isOk());
+            BankAccount account = new BankAccount(1, "angelo", "123", 543);
+            maskAuthorizationDeniedHandler.handleDeniedInvocation(new SimpleMethodInvocation(account,
+                    ReflectionUtils.findMethod(BankAccount.class, "getAccountNumber")), null);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<String> events = RecordingFile.readAllEvents(file).stream().map(RecordingAnalyzerTest::describe).toList();
+        assertTrue(events.contains("security64.AuthorizationDecision PostCheckBankAccountOwner post denied"), events::toString);
+        assertTrue(events.contains("security64.AuthorizationDecision PreCheckBankAccountOwner pre granted"), events::toString);
+        assertTrue(events.contains("security64.GatewayCall denied"), events::toString);
+        assertTrue(events.contains("security64.GatewayCall returned"), events::toString);
+        assertTrue(events.contains("security64.MaskedAccess BankAccount.getAccountNumber masked"), events::toString);
+
+        RecordingAnalyzer analyzer = new RecordingAnalyzer();
+        analyzer.read(file);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        analyzer.print(new PrintStream(output, true, StandardCharsets.UTF_8), 10);
+        String report = output.toString(StandardCharsets.UTF_8);
+        assertTrue(report.contains("@PostCheckBankAccountOwner post"), report);
+        assertTrue(report.contains("@PreCheckBankAccountOwner pre"), report);
+    }
+
+    private static String describe(RecordedEvent event) {
+        String name = event.getEventType().getName();
+        return switch (name) {
+            case "security64.AuthorizationDecision" -> STR."\{name} \{event.getString("annotation")} \{event.getString("phase")} \{event.getString("outcome")}";
+            case "security64.MaskedAccess" -> STR."\{name} \{event.getString("method")} \{event.getString("outcome")}";
+            default -> STR."\{name} \{event.getString("outcome")}";
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.angelozero.spring.security64.store;
+
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CachingAccountStoreTest {
+
+    private final AtomicInteger reads = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+    private final Cache<Integer, BankAccount> cache = Caffeine.newBuilder()
+            .maximumSize(100)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .ticker(nanos::get)
+            .executor(Runnable::run)
+            .build();
+    private final CachingAccountStore accountStore = new CachingAccountStore(new EmbeddedAccountStore() {
+        @Override
+        public BankAccount findById(int id) {
+            reads.incrementAndGet();
+            return super.findById(id);
+        }
+    }, cache);
+
+    @Test
+    void shouldReadThroughOnceAndInvalidateOnSave() {
+        accountStore.save(new BankAccount(1, "angelo", "123", 543));
+
+        BankAccount first = accountStore.findById(1);
+        assertSame(first, accountStore.findById(1));
+        assertEquals(1, reads.get());
+
+        accountStore.save(new BankAccount(1, "angelo", "123", 1_000));
+        assertEquals(1_000, accountStore.findById(1).getBalance());
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTheTtl() {
+        accountStore.save(new BankAccount(1, "angelo", "123", 543));
+        accountStore.findById(1);
+
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+        accountStore.findById(1);
+
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void shouldNotCacheMissingAccounts() {
+        assertNull(accountStore.findById(7));
+        accountStore.save(new BankAccount(7, "jake", "777", 7));
+
+        assertEquals("777", accountStore.findById(7).getAccountNumber());
+        assertEquals(2, reads.get());
+    }
+}
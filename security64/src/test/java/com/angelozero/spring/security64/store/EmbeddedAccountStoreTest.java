@@ -0,0 +1,77 @@
+package com.angelozero.spring.security64.store;
+
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class EmbeddedAccountStoreTest {
+
+    @Test
+    void shouldFindSavedBankAccountsAcrossResizes() {
+        AccountStore accountStore = new EmbeddedAccountStore(4, 2);
+        IntStream.range(0, 100_000).forEach((id) -> accountStore.save(new BankAccount(id, STR."owner-\{id}", String.valueOf(id), id)));
+
+        assertEquals(100_000, accountStore.size());
+        assertEquals(100_000, accountStore.findAll().count());
+        assertEquals("owner-77777", accountStore.findById(77_777).getOwner());
+        assertNull(accountStore.findById(100_000));
+    }
+
+    @Test
+    void shouldReplaceAnExistingBankAccount() {
+        AccountStore accountStore = new EmbeddedAccountStore();
+        accountStore.save(new BankAccount(1, "angelo", "123", 543));
+        accountStore.save(new BankAccount(1, "angelo", "123", 100));
+
+        assertEquals(1, accountStore.size());
+        assertEquals(100, accountStore.findById(1).getBalance());
+        assertEquals(2, accountStore.findById(1).getVersion());
+    }
+
+    @Test
+    void shouldHandOutAccountsThatCannotBeChangedWithoutASave() {
+        AccountStore accountStore = new EmbeddedAccountStore();
+        accountStore.save(new BankAccount(1, "angelo", "123", 543));
+
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> accountStore.findById(1).setOwner("jake"));
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> accountStore.findAll().findFirst().orElseThrow().setBalance(0));
+        assertEquals("angelo", accountStore.findById(1).getOwner());
+    }
+
+    @Test
+    void shouldReadWhileOtherThreadsWrite() throws Exception {
+        AccountStore accountStore = new EmbeddedAccountStore(2, 2);
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            Future<?> reader = executor.submit(() -> IntStream.range(0, 200_000).forEach((i) -> {
+                BankAccount bankAccount = accountStore.findById(i % 50_000);
+                if (bankAccount != null) {
+                    assertEquals(i % 50_000, bankAccount.getId());
+                }
+            }));
+            IntStream.range(0, 3).mapToObj((writer) -> executor.submit(() -> IntStream.range(0, 50_000)
+                            .filter((id) -> id % 3 == writer)
+                            .forEach((id) -> accountStore.save(new BankAccount(id, "angelo", "123", id)))))
+                    .toList()
+                    .forEach((future) -> {
+                        try {
+                            future.get();
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+            reader.get();
+        }
+
+        assertEquals(50_000, accountStore.size());
+    }
+}
@@ -0,0 +1,107 @@
+package com.angelozero.spring.security64.store;
+
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedAccountStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecoverSavedBankAccountsAfterRestart() {
+        try (MappedAccountStore accountStore = open(false)) {
+            IntStream.range(0, 1_000).forEach((id) -> accountStore.save(new BankAccount(id, "angelo", String.valueOf(id), id)));
+            accountStore.save(new BankAccount(7, "jake", "777", 7.5));
+            accountStore.save(new BankAccount(8, null, null, 0));
+        }
+
+        try (MappedAccountStore accountStore = open(false)) {
+            assertEquals(1_000, accountStore.size());
+            assertEquals(new BankAccount(7, "jake", "777", 7.5), accountStore.findById(7));
+            assertEquals(new BankAccount(8, null, null, 0), accountStore.findById(8));
+            assertEquals(1_000, accountStore.findAll().count());
+
+            accountStore.save(new BankAccount(1_000, "angelo", "1000", 0));
+        }
+
+        try (MappedAccountStore accountStore = open(false)) {
+            assertEquals(1_001, accountStore.size());
+        }
+    }
+
+    @Test
+    void shouldSkipCorruptedRecordsOnRecovery() throws Exception {
+        try (MappedAccountStore accountStore = open(false)) {
+            accountStore.save(new BankAccount(1, "angelo", "123", 543));
+            accountStore.save(new BankAccount(1, "angelo", "123", 600));
+        }
+
+        try (FileChannel channel = FileChannel.open(directory.resolve("accounts-000000.log"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), MappedAccountStore.RECORD_SIZE + 20);
+        }
+
+        long version;
+        try (MappedAccountStore accountStore = open(false)) {
+            assertEquals(543, accountStore.findById(1).getBalance());
+            assertNull(accountStore.findById(2));
+            version = accountStore.findById(1).getVersion();
+            accountStore.save(new BankAccount(1, "angelo", "123", 700));
+            assertTrue(accountStore.findById(1).getVersion() > version);
+        }
+    }
+
+    @Test
+    void shouldGroupCommitConcurrentSaves() {
+        try (MappedAccountStore accountStore = open(true);
+             ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 2_000).forEach((id) -> executor.submit(() -> accountStore.save(new BankAccount(id, "angelo", "123", id))));
+            executor.close();
+
+            assertEquals(2_000, accountStore.size());
+            assertEquals(1_999, accountStore.findById(1_999).getBalance());
+        }
+    }
+
+    @Test
+    void shouldSaveABatchAcrossSegmentsWithOneSync() {
+        try (MappedAccountStore accountStore = open(true)) {
+            accountStore.saveAll(IntStream.range(0, 1_000).mapToObj((id) -> new BankAccount(id, "angelo", "123", id)).toList());
+            assertThrows(IllegalArgumentException.class, () -> accountStore.saveAll(List.of(
+                    new BankAccount(1_000, "angelo", "123", 0), new BankAccount(1_001, "angelo".repeat(10), "123", 0))));
+        }
+
+        try (MappedAccountStore accountStore = open(false)) {
+            assertEquals(1_000, accountStore.size());
+            assertEquals(999, accountStore.findById(999).getBalance());
+            assertNull(accountStore.findById(1_000));
+        }
+    }
+
+    @Test
+    void shouldRejectFieldsThatDoNotFitTheRecord() {
+        try (MappedAccountStore accountStore = open(false)) {
+            assertThrows(IllegalArgumentException.class, () -> accountStore.save(new BankAccount(1, "angelo".repeat(10), "123", 0)));
+        }
+    }
+
+    private MappedAccountStore open(boolean awaitSync) {
+        return new MappedAccountStore(directory, 256, Duration.ofMillis(1), awaitSync);
+    }
+}
@@ -0,0 +1,106 @@
+package com.angelozero.spring.security64.store;
+
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class OwnerIndexedAccountStoreTest {
+
+    @Test
+    void shouldIndexTheExistingAccountsAndFollowEverySave() {
+        AccountStore embedded = new EmbeddedAccountStore();
+        IntStream.range(0, 10).forEach((id) -> embedded.save(new BankAccount(id, id % 2 == 0 ? "even" : "odd", String.valueOf(id), id)));
+        AccountStore accountStore = new OwnerIndexedAccountStore(embedded);
+
+        accountStore.save(new BankAccount(4, "odd", "4", 4));
+        accountStore.saveAll(List.of(new BankAccount(20, "even", "20", 20), new BankAccount(1, "even", "1", 1)));
+
+        assertArrayEquals(new int[]{0, 1, 2}, accountStore.findIdsByOwner("even", null, 3));
+        assertArrayEquals(new int[]{6, 8, 20}, accountStore.findIdsByOwner("even", 2, 10));
+        assertArrayEquals(new int[]{3, 4, 5, 7, 9}, accountStore.findIdsByOwner("odd", null, 10));
+        assertArrayEquals(new int[]{}, accountStore.findIdsByOwner("odd", 9, 10));
+        assertArrayEquals(new int[]{}, accountStore.findIdsByOwner("nobody", null, 10));
+        assertArrayEquals(embedded.findIdsByOwner("even", 2, 10), accountStore.findIdsByOwner("even", 2, 10));
+    }
+
+    @Test
+    void shouldPageAcrossTheBlocksOfAnOwner() {
+        AccountStore accountStore = new OwnerIndexedAccountStore(new EmbeddedAccountStore());
+        IntStream.of(4095, 4096, 70_000, 3, 4097).forEach((id) -> accountStore.save(new BankAccount(id, "angelo", String.valueOf(id), id)));
+        accountStore.save(new BankAccount(4096, "jake", "4096", 4096));
+
+        assertArrayEquals(new int[]{3, 4095}, accountStore.findIdsByOwner("angelo", null, 2));
+        assertArrayEquals(new int[]{4097, 70_000}, accountStore.findIdsByOwner("angelo", 4095, 10));
+        assertArrayEquals(new int[]{70_000}, accountStore.findIdsByOwner("angelo", 4097, 10));
+        assertArrayEquals(new int[]{4096}, accountStore.findIdsByOwner("jake", null, 10));
+        assertArrayEquals(new int[]{}, accountStore.findIdsByOwner("angelo", Integer.MAX_VALUE, 10));
+    }
+
+    @Test
+    void shouldListAnAccountUnderItsStoredOwnerWhileOwnershipFlips() throws Exception {
+        AccountStore accountStore = new OwnerIndexedAccountStore(slowlySaving(new EmbeddedAccountStore()));
+        accountStore.save(new BankAccount(5, "angelo", "5", 5));
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            for (int round = 0; round < 2_000; round++) {
+                String first = round % 2 == 0 ? "jake" : "angelo";
+                String second = round % 2 == 0 ? "angelo" : "jake";
+                CompletableFuture<Void> one = CompletableFuture.runAsync(() -> saveAfter(barrier, accountStore, first), executor);
+                CompletableFuture<Void> other = CompletableFuture.runAsync(() -> saveAfter(barrier, accountStore, second), executor);
+                CompletableFuture.allOf(one, other).get();
+
+                String owner = accountStore.findById(5).getOwner();
+                String notOwner = owner.equals("angelo") ? "jake" : "angelo";
+                assertArrayEquals(new int[]{5}, accountStore.findIdsByOwner(owner, null, 10), STR."round \{round}");
+                assertArrayEquals(new int[]{}, accountStore.findIdsByOwner(notOwner, null, 10), STR."round \{round}");
+            }
+        }
+    }
+
+    // returns from a save a little late, so the other thread can read the owner and save in between
+    private static AccountStore slowlySaving(AccountStore delegate) {
+        return new AccountStore() {
+
+            @Override
+            public BankAccount findById(int id) {
+                return delegate.findById(id);
+            }
+
+            @Override
+            public void save(BankAccount bankAccount) {
+                delegate.save(bankAccount);
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextInt(100_000));
+            }
+
+            @Override
+            public Stream<BankAccount> findAll() {
+                return delegate.findAll();
+            }
+
+            @Override
+            public int size() {
+                return delegate.size();
+            }
+        };
+    }
+
+    private static void saveAfter(CyclicBarrier barrier, AccountStore accountStore, String owner) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        accountStore.save(new BankAccount(5, owner, "5", 5));
+    }
+}
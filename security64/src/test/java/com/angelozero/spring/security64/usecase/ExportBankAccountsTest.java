@@ -0,0 +1,45 @@
+package com.angelozero.spring.security64.usecase;
+
+import com.angelozero.spring.security64.config.WithMockAngelo;
+import com.angelozero.spring.security64.config.WithMockJake;
+import com.angelozero.spring.security64.config.component.AccountStorage;
+import com.angelozero.spring.security64.gateway.ExportBankAccountsGateway;
+import com.angelozero.spring.security64.store.EmbeddedAccountStore;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.authorization.AuthorizationProxyFactory;
+import org.springframework.security.authorization.method.AuthorizationAdvisorProxyFactory;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+public class ExportBankAccountsTest {
+
+    AuthorizationProxyFactory factory =
+            AuthorizationAdvisorProxyFactory.withDefaults();
+
+    ExportBankAccountsGateway exportBankAccounts = (ExportBankAccountsGateway) factory.proxy(new ExportBankAccounts(new GetBankAccountInfo(AccountStorage.withSampleAccounts(new EmbeddedAccountStore()))));
+
+
+    @Test
+    @WithMockAngelo
+    void shouldExportAllBankAccountsMaskingTheOnesNotOwned() {
+        var response = this.exportBankAccounts.execute()
+                .collect(Collectors.toMap(BankAccount::getId, BankAccount::getAccountNumber));
+        assertEquals(Map.of(1, "123", 2, "****"), response);
+    }
+
+    @Test
+    @WithMockJake
+    void shouldReceiveAccessDenied() {
+        assertThatExceptionOfType(AuthorizationDeniedException.class)
+                .isThrownBy(() -> this.exportBankAccounts.execute())
+                .withMessage("Access Denied");
+    }
+}
@@ -3,13 +3,17 @@ package com.angelozero.spring.security64.usecase;
 import com.angelozero.spring.security64.config.WithMockAngelo;
 import com.angelozero.spring.security64.config.WithMockDumb;
 import com.angelozero.spring.security64.config.WithMockJake;
+import com.angelozero.spring.security64.config.component.AccountStorage;
 import com.angelozero.spring.security64.gateway.FindBankAccountByIdGateway;
+import com.angelozero.spring.security64.store.EmbeddedAccountStore;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.security.authorization.AuthorizationProxyFactory;
 import org.springframework.security.authorization.method.AuthorizationAdvisorProxyFactory;
 
+import java.util.List;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -19,7 +23,7 @@ public class FindBankAccountByIdTest {
     AuthorizationProxyFactory factory =
             AuthorizationAdvisorProxyFactory.withDefaults();
 
-    FindBankAccountByIdGateway findBankAccountById = (FindBankAccountByIdGateway) factory.proxy(new FindBankAccountById(new GetBankAccountInfo()));
+    FindBankAccountByIdGateway findBankAccountById = (FindBankAccountByIdGateway) factory.proxy(new FindBankAccountById(new GetBankAccountInfo(AccountStorage.withSampleAccounts(new EmbeddedAccountStore()))));
 
 
     @Test
@@ -49,4 +53,20 @@ public class FindBankAccountByIdTest {
                 .isThrownBy(() -> this.findBankAccountById.execute(1))
                 .withMessage("Access Denied");
     }
+
+    @Test
+    @WithMockAngelo
+    void shouldFindBankAccountsInBatchMaskingTheOnesNotOwned() {
+        var response = this.findBankAccountById.execute(List.of(1, 2)).toList();
+        assertEquals("123", response.get(0).getAccountNumber());
+        assertEquals("****", response.get(1).getAccountNumber());
+    }
+
+    @Test
+    @WithMockJake
+    void shouldReceiveAccessDeniedForTheWholeBatch() {
+        assertThatExceptionOfType(AuthorizationDeniedException.class)
+                .isThrownBy(() -> this.findBankAccountById.execute(List.of(1, 2)))
+                .withMessage("Access Denied");
+    }
 }
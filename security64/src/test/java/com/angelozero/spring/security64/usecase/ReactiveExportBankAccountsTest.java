@@ -0,0 +1,38 @@
+package com.angelozero.spring.security64.usecase;
+
+import com.angelozero.spring.security64.store.AccountStore;
+import com.angelozero.spring.security64.store.EmbeddedAccountStore;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReactiveExportBankAccountsTest {
+
+    @Test
+    void shouldReadAccountsOnlyAsTheyAreRequested() {
+        AtomicInteger reads = new AtomicInteger();
+        AccountStore accountStore = new EmbeddedAccountStore() {
+
+            @Override
+            public Stream<BankAccount> findAll() {
+                return super.findAll().peek((bankAccount) -> reads.incrementAndGet());
+            }
+        };
+        IntStream.range(0, 10_000).forEach((id) -> accountStore.save(new BankAccount(id, "angelo", String.valueOf(id), id)));
+
+        List<BankAccount> exported = new ReactiveExportBankAccounts(new GetBankAccountInfo(accountStore)).execute()
+                .take(3)
+                .collectList()
+                .block();
+
+        assertEquals(3, exported.size());
+        assertTrue(reads.get() <= 4, STR."\{reads.get()} accounts read for 3 exported");
+    }
+}
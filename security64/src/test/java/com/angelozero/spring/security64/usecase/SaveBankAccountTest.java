@@ -1,8 +1,11 @@
 package com.angelozero.spring.security64.usecase;
 
+import com.angelozero.spring.security64.audit.AuditTrail;
 import com.angelozero.spring.security64.config.WithMockAngelo;
 import com.angelozero.spring.security64.config.WithMockJake;
+import com.angelozero.spring.security64.config.component.AccountStorage;
 import com.angelozero.spring.security64.gateway.SaveBankAccountGateway;
+import com.angelozero.spring.security64.store.EmbeddedAccountStore;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.authorization.AuthorizationDeniedException;
@@ -15,12 +18,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 @SpringBootTest
 public class SaveBankAccountTest {
 
-    private final GetBankAccountInfo getBankAccountInfo = new GetBankAccountInfo();
+    private final GetBankAccountInfo getBankAccountInfo = new GetBankAccountInfo(AccountStorage.withSampleAccounts(new EmbeddedAccountStore()));
 
     private final AuthorizationProxyFactory factory =
             AuthorizationAdvisorProxyFactory.withDefaults();
 
-    private final SaveBankAccountGateway saveBankAccount = (SaveBankAccountGateway) factory.proxy(new SaveBankAccount());
+    private final SaveBankAccountGateway saveBankAccount = (SaveBankAccountGateway) factory.proxy(new SaveBankAccount(new EmbeddedAccountStore(), new AuditTrail(16)));
 
 
     @Test
@@ -0,0 +1,61 @@
+package com.angelozero.spring.security64.usecase;
+
+import com.angelozero.spring.security64.audit.AuditTrail;
+import com.angelozero.spring.security64.config.WithMockAngelo;
+import com.angelozero.spring.security64.config.WithMockJake;
+import com.angelozero.spring.security64.gateway.SaveBankAccountsGateway;
+import com.angelozero.spring.security64.store.AccountStore;
+import com.angelozero.spring.security64.store.EmbeddedAccountStore;
+import com.angelozero.spring.security64.usecase.domain.BankAccount;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authorization.AuthorizationProxyFactory;
+import org.springframework.security.authorization.method.AuthorizationAdvisorProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+public class SaveBankAccountsTest {
+
+    private final AccountStore accountStore = new EmbeddedAccountStore();
+
+    private final AuthorizationProxyFactory factory =
+            AuthorizationAdvisorProxyFactory.withDefaults();
+
+    private final SaveBankAccountsGateway saveBankAccounts = (SaveBankAccountsGateway) factory.proxy(new SaveBankAccounts(accountStore, new AuditTrail(16)));
+
+    @Autowired
+    private SaveBankAccountsGateway compiledSaveBankAccounts;
+
+    @Test
+    @WithMockAngelo
+    void shouldSaveOnlyTheOwnedBankAccounts() {
+        List<BankAccount> bankAccounts = batch();
+        saveBankAccounts.execute(bankAccounts);
+
+        assertEquals(List.of(1, 3), bankAccounts.stream().map(BankAccount::getId).toList());
+        assertEquals("angelo", accountStore.findById(3).getOwner());
+        assertNull(accountStore.findById(2));
+    }
+
+    @Test
+    @WithMockJake
+    void shouldFilterTheSameWayWhenCompiled() {
+        List<BankAccount> bankAccounts = batch();
+        compiledSaveBankAccounts.execute(bankAccounts);
+
+        assertEquals(List.of(2), bankAccounts.stream().map(BankAccount::getId).toList());
+    }
+
+    private static List<BankAccount> batch() {
+        return new ArrayList<>(List.of(
+                new BankAccount(1, "angelo", "123", 543),
+                new BankAccount(2, "jake", "456", 987),
+                new BankAccount(3, "angelo", "789", 1)));
+    }
+}
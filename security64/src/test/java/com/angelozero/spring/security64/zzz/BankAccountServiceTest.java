@@ -113,6 +113,16 @@ public class BankAccountServiceTest {
         assertEquals("****", response.getAccountNumber());
     }
 
+    @Test
+    @DisplayName("Should not let one caller change the bank account every caller reads")
+    @WithMockUserAngelo
+    void findByIdReturnsAnAccountThatCannotBeChanged() {
+        var response = service.findById(1);
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> response.setOwner("jake"));
+        assertEquals("angelo", service.findById(1).getOwner());
+    }
+
     @Test
     @DisplayName("Should save a bank account with success")
     @WithMockUserAngelo